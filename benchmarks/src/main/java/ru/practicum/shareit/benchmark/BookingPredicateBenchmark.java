@@ -0,0 +1,42 @@
+package ru.practicum.shareit.benchmark;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.impl.BookingPredicates;
+import ru.practicum.shareit.booking.model.type.BookingSearchType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Построение QueryDSL-условий поиска бронирований по статусу
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPredicateBenchmark {
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private BookingSearchType state;
+
+    @Param({"true", "false"})
+    private boolean isOwner;
+
+    private final Long userId = 42L;
+
+    @Benchmark
+    public BooleanExpression bookingPredicatesOf() {
+        return BookingPredicates.of(userId, state, isOwner);
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.ByteArrayDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.mapper.BookingInfoMapper;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
+
+/**
+ * Обработка ответа shareit-server в gateway: чтение тела в Object с повторной сериализацией
+ * и передача байтов без изменений. Выделение памяти на запрос смотреть в результатах -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayProxyBenchmark {
+
+    private static final ResolvableType OBJECT_TYPE = ResolvableType.forClass(Object.class);
+
+    private static final ResolvableType BYTE_ARRAY_TYPE = ResolvableType.forClass(byte[].class);
+
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private byte[] payload;
+
+    private Jackson2JsonDecoder jsonDecoder;
+
+    private ByteArrayDecoder byteArrayDecoder;
+
+    private MappingJackson2HttpMessageConverter jsonConverter;
+
+    private ByteArrayHttpMessageConverter byteArrayConverter;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonDecoder = new Jackson2JsonDecoder(objectMapper);
+        jsonDecoder.setMaxInMemorySize(-1);
+        byteArrayDecoder = new ByteArrayDecoder();
+        byteArrayDecoder.setMaxInMemorySize(-1);
+        jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        byteArrayConverter = new ByteArrayHttpMessageConverter();
+        payload = objectMapper.writeValueAsBytes(bookingDtos(bookings));
+    }
+
+    @Benchmark
+    public byte[] deserializeAndSerialize() throws IOException {
+        Object body = jsonDecoder.decode(upstreamBody(), OBJECT_TYPE, APPLICATION_JSON, Map.of());
+        BufferedOutputMessage outputMessage = new BufferedOutputMessage();
+        jsonConverter.write(body, APPLICATION_JSON, outputMessage);
+        return outputMessage.body.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] passThrough() throws IOException {
+        byte[] body = byteArrayDecoder.decode(upstreamBody(), BYTE_ARRAY_TYPE, APPLICATION_JSON, Map.of());
+        BufferedOutputMessage outputMessage = new BufferedOutputMessage();
+        byteArrayConverter.write(body, APPLICATION_JSON, outputMessage);
+        return outputMessage.body.toByteArray();
+    }
+
+    private DataBuffer upstreamBody() {
+        return DefaultDataBufferFactory.sharedInstance.wrap(payload);
+    }
+
+    private static List<BookingDto> bookingDtos(int count) {
+        CommentMapper commentMapper = new CommentMapper();
+        BookingMapper bookingMapper = new BookingMapper(new UserMapper(),
+                new ItemMapper(new BookingInfoMapper(), commentMapper));
+        User owner = User.builder().id(1L).name("Ivan").email("ivan@test.com").build();
+        User booker = User.builder().id(2L).name("Arkadiy").email("arkadiy@test.com").build();
+        LocalDateTime now = LocalDateTime.now();
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Booking.builder()
+                        .id(id)
+                        .item(Item.builder()
+                                .id(id)
+                                .owner(owner)
+                                .name("Item " + id)
+                                .description("Description of item " + id)
+                                .available(true)
+                                .build())
+                        .initiator(booker)
+                        .startDttm(now.plusHours(id))
+                        .endDttm(now.plusHours(id + 1))
+                        .status(APPROVED)
+                        .build())
+                .map(bookingMapper::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ответ gateway, записываемый в память
+     */
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность потоков обработки запросов при записи строки журнала с DTO.
+ * ASYNC повторяет настройки logback-spring.xml: при заполнении очереди сообщения INFO отбрасываются,
+ * поэтому результат показывает, насколько журнал перестает задерживать вызывающий поток.
+ * Уровень WARN соответствует профилю prod, в котором DTO не форматируются
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%X{traceId:-},%X{spanId:-}] --- [%15.15t] "
+            + "%-40.40logger{39} : %m%n";
+
+    @Param({"SYNC", "ASYNC"})
+    private String appender;
+
+    @Param({"INFO", "WARN"})
+    private String level;
+
+    private LoggerContext context;
+
+    private Logger log;
+
+    private Path file;
+
+    private ItemDto dto;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        file = Files.createTempFile("shareit-logging-benchmark", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        log = context.getLogger("ru.practicum.shareit.item.ItemController");
+        log.setLevel(ch.qos.logback.classic.Level.toLevel(level));
+        log.setAdditive(false);
+        log.addAppender("ASYNC".equals(appender) ? async(fileAppender) : fileAppender);
+
+        dto = ItemDto.builder()
+                .id(1L)
+                .name("Camera")
+                .description("Analog camera with a 50mm lens")
+                .available(true)
+                .requestId(10L)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void logDto() {
+        log.info("Creating item {}, ownerId = {}", dto, 1L);
+    }
+
+    private Appender<ILoggingEvent> async(Appender<ILoggingEvent> delegate) {
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.addAppender(delegate);
+        asyncAppender.start();
+        return asyncAppender;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.mapper.BookingInfoMapper;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
+
+/**
+ * Преобразование моделей в DTO без обращения к БД
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int comments;
+
+    private BookingMapper bookingMapper;
+
+    private ItemMapper itemMapper;
+
+    private CommentMapper commentMapper;
+
+    private Item item;
+
+    private Booking lastBooking;
+
+    private Booking nextBooking;
+
+    private List<Comment> itemComments;
+
+    @Setup
+    public void setUp() {
+        commentMapper = new CommentMapper();
+        itemMapper = new ItemMapper(new BookingInfoMapper(), commentMapper);
+        bookingMapper = new BookingMapper(new UserMapper(), itemMapper);
+
+        User owner = User.builder().id(1L).name("Ivan").email("ivan@test.com").build();
+        User booker = User.builder().id(2L).name("Arkadiy").email("arkadiy@test.com").build();
+        item = Item.builder()
+                .id(1L)
+                .owner(owner)
+                .name("Camera")
+                .description("Analog camera")
+                .available(true)
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        lastBooking = booking(1L, booker, now.minusDays(2));
+        nextBooking = booking(2L, booker, now.plusDays(2));
+        itemComments = LongStream.rangeClosed(1, comments)
+                .mapToObj(id -> Comment.builder()
+                        .id(id)
+                        .text("Comment " + id)
+                        .item(item)
+                        .author(booker)
+                        .createDttm(now.minusHours(id))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public BookingDto bookingMapperMapToDto() {
+        return bookingMapper.mapToDto(nextBooking);
+    }
+
+    @Benchmark
+    public ItemBookingDto itemMapperMapToItemBookingDto() {
+        return itemMapper.mapToItemBookingDto(item, itemComments, lastBooking, nextBooking);
+    }
+
+    @Benchmark
+    public List<CommentDto> commentMapperMapToDtos() {
+        return commentMapper.mapToDtos(itemComments);
+    }
+
+    private Booking booking(Long id, User booker, LocalDateTime start) {
+        return Booking.builder()
+                .id(id)
+                .item(item)
+                .initiator(booker)
+                .startDttm(start)
+                .endDttm(start.plusDays(1))
+                .status(APPROVED)
+                .build();
+    }
+}
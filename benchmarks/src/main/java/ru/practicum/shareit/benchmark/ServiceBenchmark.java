@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.LoadTestData;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.type.BookingSearchType;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вызовы сервисов целиком на встроенной H2, заполненной объемом данных, близким к рабочему
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int USERS = 1_000;
+
+    private static final int ITEMS = 10_000;
+
+    private static final int BOOKINGS = 200_000;
+
+    private static final int COMMENTS = 20_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"ALL", "PAST", "FUTURE", "WAITING"})
+    private BookingSearchType state;
+
+    private ConfigurableApplicationContext context;
+
+    private BookingService bookingService;
+
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("ci")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        LoadTestData.seed(context.getBean(JdbcTemplate.class), USERS, ITEMS, BOOKINGS, COMMENTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> getBookingsByUserId() {
+        return bookingService.getBookingsByUserId(state, randomId(USERS), PAGE_SIZE, 0);
+    }
+
+    @Benchmark
+    public List<BookingDto> getBookingsByItemOwner() {
+        return bookingService.getBookingsByItemOwner(state, randomId(USERS), PAGE_SIZE, 0);
+    }
+
+    @Benchmark
+    public List<ItemBookingDto> getItems() {
+        return itemService.getItems(randomId(USERS), PAGE_SIZE, 0);
+    }
+
+    @Benchmark
+    public ItemBookingDto getItemByIdAsOwner() {
+        long itemId = randomId(ITEMS);
+        return itemService.getItemById(itemId, itemId % USERS + 1);
+    }
+
+    private static long randomId(int bound) {
+        return ThreadLocalRandom.current().nextLong(bound) + 1;
+    }
+}
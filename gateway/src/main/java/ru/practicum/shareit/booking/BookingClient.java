@@ -2,66 +2,95 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingSearchType;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static ru.practicum.shareit.client.CacheRegion.ITEMS;
+
 @Service
 public class BookingClient extends BaseClient {
 
     private static final String API_PREFIX = "/bookings";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                         ResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .build(),
+                API_PREFIX
         );
+        this.responseCache = responseCache;
+    }
+
+    public Mono<ResponseEntity<Object>> create(Long userId, BookingDto requestDto) {
+        return responseCache.evictAfter(post("", userId, requestDto), ITEMS);
     }
 
-    public ResponseEntity<Object> create(Long userId, BookingDto requestDto) {
-        return post("", userId, requestDto);
+    public Mono<ResponseEntity<Object>> createAll(Long userId, List<BookingDto> requestDtos) {
+        return responseCache.evictAfter(post("/batch", userId, requestDtos), ITEMS);
     }
 
-    public ResponseEntity<Object> changeStatus(Long bookingId, Boolean approved, Long userId) {
+    public Mono<ResponseEntity<Object>> changeStatus(Long bookingId, Boolean approved, Long userId) {
+        Map<String, Object> parameters = Map.of(
+                "bookingId", bookingId,
+                "approved", approved
+        );
+
+        return responseCache.evictAfter(patch("/{bookingId}?approved={approved}", userId, parameters), ITEMS);
+    }
+
+    public Mono<ResponseEntity<Object>> changeStatusAll(List<Long> bookingIds, Boolean approved, Long userId) {
         Map<String, Object> parameters = Map.of("approved", approved);
 
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters);
+        return responseCache.evictAfter(patch("/batch?approved={approved}", userId, parameters, bookingIds), ITEMS);
     }
 
-    public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+    public Mono<ResponseEntity<Object>> getBookingById(Long userId, Long bookingId) {
+        return get("/{bookingId}", userId, Map.of("bookingId", bookingId));
     }
 
-    public ResponseEntity<Object> getBookingsByUserId(Long userId, BookingSearchType state,
-                                                      Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
+    public Mono<ResponseEntity<Object>> getBookingsByUserId(Long userId, BookingSearchType state,
+                                                            Integer from, Integer size, @Nullable String cursor) {
+        return get(withCursor("?state={state}&from={from}&size={size}", cursor), userId,
+                getListParameters(state, from, size, cursor));
+    }
 
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getBookingsByItemOwner(Long userId, BookingSearchType state,
+                                                               Integer from, Integer size, @Nullable String cursor) {
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", cursor), userId,
+                getListParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> getBookingsByItemOwner(Long userId, BookingSearchType state,
-                                                         Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    private static String withCursor(String path, @Nullable String cursor) {
+        return cursor == null ? path : path + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> getListParameters(BookingSearchType state, Integer from, Integer size,
+                                                         @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
-
-}
\ No newline at end of file
+}
@@ -5,13 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingSearchType;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.util.Header.SHARER_USER_ID;
 
@@ -22,6 +26,8 @@ import static ru.practicum.shareit.util.Header.SHARER_USER_ID;
 @Validated
 public class BookingController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingClient bookingClient;
 
     /**
@@ -32,12 +38,27 @@ public class BookingController {
      * @return Созданное бронирование
      */
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(SHARER_USER_ID) Long userId,
-                                         @Valid @RequestBody BookingDto dto) {
-        log.info("Creating booking {}, userId = {}", dto, userId);
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(SHARER_USER_ID) Long userId,
+                                               @Valid @RequestBody BookingDto dto) {
+        log.info("Creating booking of itemId = {}, userId = {}", dto.getItemId(), userId);
         return bookingClient.create(userId, dto);
     }
 
+    /**
+     * Пакетное создание бронирований
+     *
+     * @param userId Идентификатор инициатора
+     * @param dtos   Список объектов, содержащих данные для создания
+     * @return Результаты создания в порядке переданных бронирований
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader(SHARER_USER_ID) Long userId,
+                                                  @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                  @RequestBody List<@Valid @NotNull BookingDto> dtos) {
+        log.info("Creating {} bookings, userId = {}", dtos.size(), userId);
+        return bookingClient.createAll(userId, dtos);
+    }
+
     /**
      * Подтверждение или отклонение запроса на бронирование
      *
@@ -47,13 +68,30 @@ public class BookingController {
      * @return Бронирование с обновленным признаком
      */
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> changeStatus(@PathVariable Long bookingId,
-                                               @Valid @NotNull @RequestParam Boolean approved,
-                                               @RequestHeader(SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> changeStatus(@PathVariable Long bookingId,
+                                                     @Valid @NotNull @RequestParam Boolean approved,
+                                                     @RequestHeader(SHARER_USER_ID) Long userId) {
         log.info("Change status for bookingId = {}, approved = {}, userId = {}", bookingId, approved, userId);
         return bookingClient.changeStatus(bookingId, approved, userId);
     }
 
+    /**
+     * Пакетное подтверждение или отклонение запросов на бронирование
+     *
+     * @param approved   Признак одобрения
+     * @param userId     Идентификатор пользователя
+     * @param bookingIds Идентификаторы бронирований
+     * @return Результаты изменения в порядке переданных идентификаторов
+     */
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> changeStatusAll(@Valid @NotNull @RequestParam Boolean approved,
+                                                        @RequestHeader(SHARER_USER_ID) Long userId,
+                                                        @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                        @RequestBody List<@NotNull Long> bookingIds) {
+        log.info("Change status for {} bookings, approved = {}, userId = {}", bookingIds.size(), approved, userId);
+        return bookingClient.changeStatusAll(bookingIds, approved, userId);
+    }
+
     /**
      * Получение данных о бронировании по идентификатору
      *
@@ -62,8 +100,8 @@ public class BookingController {
      * @return Бронирование
      */
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader(SHARER_USER_ID) Long userId,
-                                                 @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingById(@RequestHeader(SHARER_USER_ID) Long userId,
+                                                       @PathVariable Long bookingId) {
         log.info("Get bookingId = {}, userId = {}", bookingId, userId);
         return bookingClient.getBookingById(userId, bookingId);
     }
@@ -75,19 +113,22 @@ public class BookingController {
      * @param userId     Идентификатор пользователя
      * @param size       Количество элементов для отображения
      * @param from       Индекс первого элемента
+     * @param cursor     Курсор, полученный с предыдущей страницей в заголовке X-Next-Cursor
      * @return Список бронирований
      */
     @GetMapping
-    public ResponseEntity<Object> getBookingsByUserId(@RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                      @RequestHeader(SHARER_USER_ID) Long userId,
-                                                      @PositiveOrZero @RequestParam(required = false,
-                                                              defaultValue = "0") Integer from,
-                                                      @Positive @RequestParam(required = false,
-                                                              defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsByUserId(@RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                            @RequestHeader(SHARER_USER_ID) Long userId,
+                                                            @PositiveOrZero @RequestParam(required = false,
+                                                                    defaultValue = "0") Integer from,
+                                                            @Positive @RequestParam(required = false,
+                                                                    defaultValue = "10") Integer size,
+                                                            @RequestParam(required = false) String cursor) {
         BookingSearchType state = BookingSearchType.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get bookings with state = {}, userId = {}, from = {}, size = {}", stateParam, userId, from, size);
-        return bookingClient.getBookingsByUserId(userId, state, from, size);
+        log.info("Get bookings with state = {}, userId = {}, from = {}, size = {}, cursor = {}", stateParam, userId,
+                from, size, cursor);
+        return bookingClient.getBookingsByUserId(userId, state, from, size, cursor);
     }
 
     /**
@@ -97,18 +138,21 @@ public class BookingController {
      * @param ownerId    Идентификатор владельца
      * @param size       Количество элементов для отображения
      * @param from       Индекс первого элемента
+     * @param cursor     Курсор, полученный с предыдущей страницей в заголовке X-Next-Cursor
      * @return Список бронирований
      */
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByItemOwner(@RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                         @RequestHeader(SHARER_USER_ID) Long ownerId,
-                                                         @PositiveOrZero @RequestParam(required = false,
-                                                                 defaultValue = "0") Integer from,
-                                                         @Positive @RequestParam(required = false,
-                                                                 defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsByItemOwner(@RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                               @RequestHeader(SHARER_USER_ID) Long ownerId,
+                                                               @PositiveOrZero @RequestParam(required = false,
+                                                                       defaultValue = "0") Integer from,
+                                                               @Positive @RequestParam(required = false,
+                                                                       defaultValue = "10") Integer size,
+                                                               @RequestParam(required = false) String cursor) {
         BookingSearchType state = BookingSearchType.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get bookings with state = {}, ownerId = {}, from = {}, size = {}", stateParam, ownerId, from, size);
-        return bookingClient.getBookingsByItemOwner(ownerId, state, from, size);
+        log.info("Get bookings with state = {}, ownerId = {}, from = {}, size = {}, cursor = {}", stateParam, ownerId,
+                from, size, cursor);
+        return bookingClient.getBookingsByItemOwner(ownerId, state, from, size, cursor);
     }
 }
\ No newline at end of file
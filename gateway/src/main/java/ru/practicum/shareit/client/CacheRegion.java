@@ -0,0 +1,10 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Группы кэшируемых ответов, сбрасываемые при изменении соответствующих ресурсов
+ */
+public enum CacheRegion {
+    USERS,
+    ITEMS,
+    REQUESTS
+}
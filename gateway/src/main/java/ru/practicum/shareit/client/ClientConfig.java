@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties(ClientProperties.class)
+public class ClientConfig {
+
+    /**
+     * Пул соединений с shareit-server, общий для всех клиентов.
+     * Запросы сверх лимита соединений ожидают в очереди ограниченного размера,
+     * при ее переполнении или истечении времени ожидания запрос завершается ошибкой.
+     * Метрики пула публикуются в Micrometer с префиксом reactor.netty.connection.provider
+     *
+     * @param properties Настройки соединений
+     * @return Пул соединений
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(ClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Подключение клиентов к общему пулу соединений. Тело ответа буферизуется целиком,
+     * поэтому его размер ограничен shareit-server.max-in-memory-size вместо 256 КБ по умолчанию
+     *
+     * @param connectionProvider Пул соединений
+     * @param properties         Настройки соединений
+     * @return Настройка WebClient.Builder
+     */
+    @Bean
+    public WebClientCustomizer shareItServerConnector(ConnectionProvider connectionProvider,
+                                                      ClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(properties.isKeepAlive())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        int maxInMemorySize = (int) properties.getMaxInMemorySize().toBytes();
+        return builder -> builder.clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize));
+    }
+}
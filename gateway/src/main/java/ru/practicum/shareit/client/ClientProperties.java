@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Настройки соединений gateway с shareit-server
+ */
+@ConfigurationProperties(prefix = "shareit-server")
+@Getter
+@Setter
+public class ClientProperties {
+
+    /**
+     * Максимальное количество соединений с сервером
+     */
+    private int maxConnections = 500;
+
+    /**
+     * Максимальное количество запросов, ожидающих свободного соединения
+     */
+    private int pendingAcquireMaxCount = 1000;
+
+    /**
+     * Максимальное время ожидания свободного соединения
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+
+    /**
+     * Время простоя, после которого соединение закрывается
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * Максимальное время жизни соединения
+     */
+    private Duration maxLifeTime = Duration.ofMinutes(10);
+
+    /**
+     * Интервал фоновой проверки простаивающих соединений
+     */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    /**
+     * Таймаут установки соединения
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Таймаут ожидания ответа сервера
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Признак повторного использования соединений (HTTP keep-alive и TCP keep-alive)
+     */
+    private boolean keepAlive = true;
+
+    /**
+     * Максимальный размер тела ответа сервера, который gateway буферизует в памяти
+     */
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(16);
+
+    /**
+     * Настройки кэша ответов
+     */
+    private Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Максимальное количество ответов в кэше
+         */
+        private long maxSize = 10000;
+
+        /**
+         * Время хранения ответа
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных ответов shareit-server на GET-запросы.
+ * Ответы группы сбрасываются после каждого изменяющего запроса gateway к ее ресурсам.
+ * Ответы, запрещающие хранение через Cache-Control, не кэшируются.
+ * Изменения в обход gateway видны после истечения shareit-server.cache.ttl
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<Key, ResponseEntity<Object>> cache;
+
+    /**
+     * Поколение группы увеличивается при каждом сбросе. Ответ, запрошенный до сброса,
+     * не остается в кэше, даже если пришел после него
+     */
+    private final Map<CacheRegion, AtomicLong> generations = new EnumMap<>(CacheRegion.class);
+
+    public ResponseCache(ClientProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaxSize())
+                .expireAfterWrite(properties.getCache().getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.responses");
+        for (CacheRegion region : CacheRegion.values()) {
+            generations.put(region, new AtomicLong());
+        }
+    }
+
+    /**
+     * Получение ответа из кэша или от сервера
+     *
+     * @param region     Группа ответов
+     * @param path       Путь запроса
+     * @param userId     Идентификатор пользователя из заголовка X-Sharer-User-Id
+     * @param parameters Параметры запроса
+     * @param request    Запрос к серверу
+     * @return Ответ сервера
+     */
+    public Mono<ResponseEntity<Object>> get(CacheRegion region, String path, @Nullable Long userId,
+                                            @Nullable Map<String, Object> parameters,
+                                            Supplier<Mono<ResponseEntity<Object>>> request) {
+        Key key = new Key(region, path, userId, parameters == null ? Map.of() : new TreeMap<>(parameters));
+        return Mono.defer(() -> {
+            ResponseEntity<Object> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            AtomicLong generation = generations.get(region);
+            long requestedGeneration = generation.get();
+            return request.get().doOnNext(response -> {
+                if (response.getStatusCode().is2xxSuccessful() && isStorable(response)) {
+                    cache.put(key, response);
+                    if (generation.get() != requestedGeneration) {
+                        cache.invalidate(key);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Сброс групп ответов после выполнения изменяющего запроса
+     *
+     * @param request Изменяющий запрос к серверу
+     * @param regions Группы ответов, затрагиваемые запросом
+     * @return Ответ сервера
+     */
+    public <T> Mono<T> evictAfter(Mono<T> request, CacheRegion... regions) {
+        List<CacheRegion> evicted = List.of(regions);
+        return request.doFinally(signal -> {
+            evicted.forEach(region -> generations.get(region).incrementAndGet());
+            cache.asMap().keySet().removeIf(key -> evicted.contains(key.getRegion()));
+        });
+    }
+
+    /**
+     * Ответы с Cache-Control: no-cache или no-store сервер отдает с данными, устаревающими без изменяющих запросов,
+     * например последним и следующим бронированиями вещи для владельца
+     */
+    private static boolean isStorable(ResponseEntity<Object> response) {
+        String cacheControl = response.getHeaders().getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
+
+    @Value
+    private static class Key {
+        CacheRegion region;
+        String path;
+        Long userId;
+        Map<String, Object> parameters;
+    }
+}
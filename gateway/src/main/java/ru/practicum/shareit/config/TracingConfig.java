@@ -0,0 +1,35 @@
+package ru.practicum.shareit.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class TracingConfig {
+
+    /**
+     * Экспорт завершенных span в лог в формате Zipkin JSON. Записи можно направить в отдельный файл
+     * через настройки логгера ru.practicum.shareit.config.TracingConfig.
+     * Другие экспортеры подключаются объявлением своего SpanHandler, например через spring-cloud-sleuth-zipkin
+     *
+     * @return Обработчик завершенных span
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.log-spans", havingValue = "true")
+    public SpanHandler loggingSpanHandler() {
+        return new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                if (cause == Cause.FINISHED) {
+                    log.info("{}", span);
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import ru.practicum.shareit.exception.dto.ErrorInfo;
 
+import javax.validation.ConstraintViolationException;
+
 @ControllerAdvice
 @Slf4j
 public class ErrorController extends ResponseEntityExceptionHandler {
@@ -27,6 +29,20 @@ public class ErrorController extends ResponseEntityExceptionHandler {
         return new ErrorInfo(e.getMessage());
     }
 
+    /**
+     * Обработчик ConstraintViolationException
+     *
+     * @param e Эксепшн
+     * @return Объект, содержащий сообщение об ошибке
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorInfo processConstraintViolationException(ConstraintViolationException e) {
+        log.debug(e.getMessage());
+        return new ErrorInfo(e.getMessage());
+    }
+
     /**
      * Обработчик непредвиденных ошибок
      *
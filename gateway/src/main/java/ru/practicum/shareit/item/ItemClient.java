@@ -2,45 +2,53 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.client.CacheRegion.ITEMS;
+import static ru.practicum.shareit.client.CacheRegion.REQUESTS;
+
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .build(),
+                API_PREFIX
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> createItem(ItemDto dto, Long ownerId) {
-        return post("", ownerId, dto);
+    public Mono<ResponseEntity<Object>> createItem(ItemDto dto, Long ownerId) {
+        return responseCache.evictAfter(post("", ownerId, dto), ITEMS, REQUESTS);
     }
 
-    public ResponseEntity<Object> updateItem(Long ownerId, Long id, ItemDto dto) {
-        return patch("/" + id, ownerId, dto);
+    public Mono<ResponseEntity<Object>> updateItem(Long ownerId, Long id, ItemDto dto) {
+        return responseCache.evictAfter(patch("/{id}", ownerId, Map.of("id", id), dto), ITEMS, REQUESTS);
     }
 
-    public ResponseEntity<Object> getItemById(Long id, Long ownerId) {
-        return get("/" + id, ownerId);
+    public Mono<ResponseEntity<Object>> getItemById(Long id, Long ownerId) {
+        return responseCache.get(ITEMS, "/" + id, ownerId, null, () -> get("/{id}", ownerId, Map.of("id", id)));
     }
 
-    public ResponseEntity<Object> getItems(Long ownerId, Integer size, Integer from) {
+    public Mono<ResponseEntity<Object>> getItems(Long ownerId, Integer size, Integer from) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -49,7 +57,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text, Integer size, Integer from) {
+    public Mono<ResponseEntity<Object>> searchItems(String text, Integer size, Integer from) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -59,7 +67,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", parameters);
     }
 
-    public ResponseEntity<Object> createComment(CommentDto dto, Long itemId, Long authorId) {
-        return post("/" + itemId + "/comment", authorId, dto);
+    public Mono<ResponseEntity<Object>> createComment(CommentDto dto, Long itemId, Long authorId) {
+        return responseCache.evictAfter(post("/{itemId}/comment", authorId, Map.of("itemId", itemId), dto), ITEMS);
     }
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.validation.ItemCreate;
@@ -32,9 +33,9 @@ public class ItemController {
      * @return Созданная вещь
      */
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(SHARER_USER_ID) Long ownerId,
-                                             @Validated(ItemCreate.class) @RequestBody ItemDto dto) {
-        log.info("Creating item {}, ownerId = {}", dto, ownerId);
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(SHARER_USER_ID) Long ownerId,
+                                                   @Validated(ItemCreate.class) @RequestBody ItemDto dto) {
+        log.info("Creating item, ownerId = {}", ownerId);
         return itemClient.createItem(dto, ownerId);
     }
 
@@ -47,9 +48,9 @@ public class ItemController {
      * @return Обновленная вещь
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(SHARER_USER_ID) Long ownerId,
-                                             @PathVariable Long id,
-                                             @RequestBody ItemDto dto) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(SHARER_USER_ID) Long ownerId,
+                                                   @PathVariable Long id,
+                                                   @RequestBody ItemDto dto) {
         log.info("Updating itemId = {}, ownerId = {}", id, ownerId);
         return itemClient.updateItem(ownerId, id, dto);
     }
@@ -62,8 +63,8 @@ public class ItemController {
      * @return Вещь
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getItemById(@PathVariable Long id,
-                                              @RequestHeader(SHARER_USER_ID) Long ownerId) {
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable Long id,
+                                                    @RequestHeader(SHARER_USER_ID) Long ownerId) {
         log.info("Get itemId = {}, ownerId = {}", id, ownerId);
         return itemClient.getItemById(id, ownerId);
     }
@@ -77,11 +78,11 @@ public class ItemController {
      * @return Список вещей
      */
     @GetMapping
-    public ResponseEntity<Object> getItems(@RequestHeader(SHARER_USER_ID) Long ownerId,
-                                           @PositiveOrZero @RequestParam(required = false,
-                                                   defaultValue = "0") Integer from,
-                                           @Positive @RequestParam(required = false,
-                                                   defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getItems(@RequestHeader(SHARER_USER_ID) Long ownerId,
+                                                 @PositiveOrZero @RequestParam(required = false,
+                                                         defaultValue = "0") Integer from,
+                                                 @Positive @RequestParam(required = false,
+                                                         defaultValue = "10") Integer size) {
         log.info("Get items by ownerId = {}, from = {}, size = {}", ownerId, from, size);
         return itemClient.getItems(ownerId, size, from);
     }
@@ -95,11 +96,11 @@ public class ItemController {
      * @return Список найденных вещей
      */
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
-                                              @PositiveOrZero @RequestParam(required = false,
-                                                      defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(required = false,
-                                                      defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
+                                                    @PositiveOrZero @RequestParam(required = false,
+                                                            defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(required = false,
+                                                            defaultValue = "10") Integer size) {
         log.info("Search items by text = {}, from = {}, size = {}", text, from, size);
         return itemClient.searchItems(text, size, from);
     }
@@ -113,10 +114,10 @@ public class ItemController {
      * @return Объект, содержащий созданный комментарий
      */
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Valid @RequestBody CommentDto dto,
-                                                @PathVariable Long itemId,
-                                                @RequestHeader(SHARER_USER_ID) Long authorId) {
-        log.info("Create comment {}, itemId = {}, authorId = {}", dto, itemId, authorId);
+    public Mono<ResponseEntity<Object>> createComment(@Valid @RequestBody CommentDto dto,
+                                                      @PathVariable Long itemId,
+                                                      @RequestHeader(SHARER_USER_ID) Long authorId) {
+        log.info("Create comment, itemId = {}, authorId = {}", itemId, authorId);
         return itemClient.createComment(dto, itemId, authorId);
     }
 }
@@ -2,50 +2,59 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.client.CacheRegion.REQUESTS;
+
 @Service
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                             ResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .build(),
+                API_PREFIX
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDto dto) {
-        return post("", userId, dto);
+    public Mono<ResponseEntity<Object>> createItemRequest(Long userId, ItemRequestDto dto) {
+        return responseCache.evictAfter(post("", userId, dto), REQUESTS);
     }
 
-    public ResponseEntity<Object> getItemRequestsByUserId(Long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getItemRequestsByUserId(Long userId) {
+        return responseCache.get(REQUESTS, "", userId, null, () -> get("", userId));
     }
 
-    public ResponseEntity<Object> getItemRequestsOfOtherUsers(Long userId, Integer size, Integer from) {
+    public Mono<ResponseEntity<Object>> getItemRequestsOfOtherUsers(Long userId, Integer size, Integer from) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
 
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return responseCache.get(REQUESTS, "/all?from={from}&size={size}", userId, parameters,
+                () -> get("/all?from={from}&size={size}", userId, parameters));
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long userId, Long requestId) {
+        return responseCache.get(REQUESTS, "/" + requestId, userId, null, () -> get("/{requestId}", userId,
+                Map.of("requestId", requestId)));
     }
 
 }
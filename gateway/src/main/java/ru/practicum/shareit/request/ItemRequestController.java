@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -30,9 +31,9 @@ public class ItemRequestController {
      * @return Созданный запрос
      */
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(SHARER_USER_ID) Long userId,
-                                         @Valid @RequestBody ItemRequestDto dto) {
-        log.info("Creating item request {}, userId = {}", dto, userId);
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(SHARER_USER_ID) Long userId,
+                                               @Valid @RequestBody ItemRequestDto dto) {
+        log.info("Creating item request, userId = {}", userId);
         return itemRequestClient.createItemRequest(userId, dto);
     }
 
@@ -43,7 +44,7 @@ public class ItemRequestController {
      * @return Список запросов
      */
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsOfCurrentUser(@RequestHeader(SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsOfCurrentUser(@RequestHeader(SHARER_USER_ID) Long userId) {
         log.info("Get item requests of userId = {}", userId);
         return itemRequestClient.getItemRequestsByUserId(userId);
     }
@@ -57,11 +58,11 @@ public class ItemRequestController {
      * @return Список запросов
      */
     @GetMapping("/all")
-    public ResponseEntity<Object> getItemRequestsOfOtherUsers(@RequestHeader(SHARER_USER_ID) Long userId,
-                                                              @PositiveOrZero @RequestParam(required = false,
-                                                                      defaultValue = "0") Integer from,
-                                                              @Positive @RequestParam(required = false,
-                                                                      defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getItemRequestsOfOtherUsers(@RequestHeader(SHARER_USER_ID) Long userId,
+                                                                    @PositiveOrZero @RequestParam(required = false,
+                                                                            defaultValue = "0") Integer from,
+                                                                    @Positive @RequestParam(required = false,
+                                                                            defaultValue = "10") Integer size) {
         log.info("Get item requests of other users, userId = {}, from = {}, size = {}", userId, from, size);
         return itemRequestClient.getItemRequestsOfOtherUsers(userId, size, from);
     }
@@ -74,8 +75,8 @@ public class ItemRequestController {
      * @return Запрос вещи
      */
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@RequestHeader(SHARER_USER_ID) Long userId,
-                                                     @PathVariable Long requestId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(@RequestHeader(SHARER_USER_ID) Long userId,
+                                                           @PathVariable Long requestId) {
         log.info("Get item requests by id = {}, userId = {}", requestId, userId);
         return itemRequestClient.getItemRequestById(userId, requestId);
     }
@@ -2,46 +2,56 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.CacheRegion;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Map;
+
+import static ru.practicum.shareit.client.CacheRegion.USERS;
+
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .build(),
+                API_PREFIX
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> createUser(UserDto dto) {
-        return post("", dto);
+    public Mono<ResponseEntity<Object>> createUser(UserDto dto) {
+        return responseCache.evictAfter(post("", dto), USERS);
     }
 
-    public ResponseEntity<Object> updateUser(Long id, UserDto dto) {
-        return patch("/" + id, dto);
+    public Mono<ResponseEntity<Object>> updateUser(Long id, UserDto dto) {
+        return responseCache.evictAfter(patch("/{id}", null, Map.of("id", id), dto), USERS);
     }
 
-    public ResponseEntity<Object> getUserById(Long id) {
-        return get("/" + id);
+    public Mono<ResponseEntity<Object>> getUserById(Long id) {
+        return responseCache.get(USERS, "/" + id, null, null, () -> get("/{id}", Map.of("id", id)));
     }
 
-    public void deleteUserById(Long id) {
-        delete("/" + id);
+    public Mono<Void> deleteUserById(Long id) {
+        return responseCache.evictAfter(delete("/{id}", null, Map.of("id", id)), CacheRegion.values()).then();
     }
 
-    public ResponseEntity<Object> getAllUsers() {
-        return get("");
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return responseCache.get(USERS, "", null, null, () -> get(""));
     }
 }
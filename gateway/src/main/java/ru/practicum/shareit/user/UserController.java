@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.validation.UserCreate;
 import ru.practicum.shareit.user.validation.UserUpdate;
@@ -25,7 +26,7 @@ public class UserController {
      * @return Созданный пользователь
      */
     @PostMapping
-    public ResponseEntity<Object> createUser(@Validated(UserCreate.class) @RequestBody UserDto dto) {
+    public Mono<ResponseEntity<Object>> createUser(@Validated(UserCreate.class) @RequestBody UserDto dto) {
         return userClient.createUser(dto);
     }
 
@@ -37,8 +38,8 @@ public class UserController {
      * @return Обновленный пользователь
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@PathVariable Long id,
-                              @Validated(UserUpdate.class) @RequestBody UserDto dto) {
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable Long id,
+                                    @Validated(UserUpdate.class) @RequestBody UserDto dto) {
         return userClient.updateUser(id, dto);
     }
 
@@ -49,7 +50,7 @@ public class UserController {
      * @return Пользователь
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable Long id) {
         return userClient.getUserById(id);
     }
 
@@ -59,8 +60,8 @@ public class UserController {
      * @param id Идентификатор пользователя
      */
     @DeleteMapping("/{id}")
-    public void deleteUserById(@PathVariable Long id) {
-        userClient.deleteUserById(id);
+    public Mono<Void> deleteUserById(@PathVariable Long id) {
+        return userClient.deleteUserById(id);
     }
 
     /**
@@ -69,7 +70,7 @@ public class UserController {
      * @return Список пользователей
      */
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return userClient.getAllUsers();
     }
 }
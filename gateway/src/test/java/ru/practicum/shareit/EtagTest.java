@@ -0,0 +1,112 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class EtagTest {
+
+    private static final String ETAG = "\"0123456789abcdef\"";
+
+    /**
+     * Значения If-None-Match, полученные сервером; null, если заголовка не было
+     */
+    private static final List<String> upstreamConditions = new CopyOnWriteArrayList<>();
+
+    private static DisposableServer upstream;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/users/{id}", (request, response) -> {
+                    String ifNoneMatch = request.requestHeaders().get(HttpHeaders.IF_NONE_MATCH);
+                    upstreamConditions.add(ifNoneMatch);
+                    if (ETAG.equals(ifNoneMatch)) {
+                        return response
+                                .status(304)
+                                .header(HttpHeaders.ETAG, ETAG)
+                                .send();
+                    }
+                    return response
+                            .header(HttpHeaders.ETAG, ETAG)
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .sendString(Mono.just("{\"id\":" + request.param("id") + "}"));
+                }))
+                .bindNow();
+        registry.add("shareit-server.url", () -> "http://localhost:" + upstream.port());
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        upstreamConditions.clear();
+    }
+
+    @Test
+    void serverNotModifiedPassesThroughWithoutBody() {
+        ResponseEntity<String> response = getWithIfNoneMatch("/users/1", ETAG);
+
+        assertEquals(List.of(ETAG), upstreamConditions);
+        assertEquals(304, response.getStatusCodeValue());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void staleEtagIsForwardedAndFullResponseReturned() {
+        ResponseEntity<String> response = getWithIfNoneMatch("/users/2", "\"stale\"");
+
+        assertEquals(List.of("\"stale\""), upstreamConditions);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals("{\"id\":2}", response.getBody());
+    }
+
+    @Test
+    void cachedResponseWithMatchingEtagIsNotModified() {
+        ResponseEntity<String> first = restTemplate.getForEntity("/users/3", String.class);
+
+        ResponseEntity<String> second = getWithIfNoneMatch("/users/3", first.getHeaders().getETag());
+
+        assertEquals(200, first.getStatusCodeValue());
+        assertEquals(ETAG, first.getHeaders().getETag());
+        assertEquals(1, upstreamConditions.size());
+        assertEquals(304, second.getStatusCodeValue());
+        assertEquals(ETAG, second.getHeaders().getETag());
+        assertNull(second.getBody());
+    }
+
+    private ResponseEntity<String> getWithIfNoneMatch(String path, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class TracingTest {
+
+    private static final String TRACE_ID = "463ac35c9f6413ad48485a3953bb6124";
+
+    private static final String PARENT_ID = "a2fb4a1d1a96d312";
+
+    private static final Queue<Map<String, String>> upstreamHeaders = new ConcurrentLinkedQueue<>();
+
+    private static DisposableServer upstream;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/users/{id}", (request, response) -> {
+                    Map<String, String> received = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                    request.requestHeaders().forEach(header -> received.put(header.getKey(), header.getValue()));
+                    upstreamHeaders.add(received);
+                    return response
+                            .header("Content-Type", "application/json")
+                            .sendString(Mono.just("{\"id\":" + request.param("id") + "}"));
+                }))
+                .bindNow();
+        registry.add("shareit-server.url", () -> "http://localhost:" + upstream.port());
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        upstreamHeaders.clear();
+    }
+
+    @Test
+    void serverRequestContinuesIncomingTrace() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("b3", TRACE_ID + "-" + PARENT_ID + "-1");
+
+        ResponseEntity<String> response = restTemplate.exchange("/users/1", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, upstreamHeaders.size());
+        Map<String, String> sent = upstreamHeaders.peek();
+        assertEquals(TRACE_ID, sent.get("X-B3-TraceId"));
+        assertNotNull(sent.get("X-B3-ParentSpanId"));
+        assertNotEquals(PARENT_ID, sent.get("X-B3-SpanId"));
+        assertEquals("1", sent.get("X-B3-Sampled"));
+    }
+
+    @Test
+    void serverRequestStartsTraceWithoutIncomingHeaders() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/users/2", String.class);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, upstreamHeaders.size());
+        Map<String, String> sent = upstreamHeaders.peek();
+        assertNotNull(sent.get("X-B3-TraceId"));
+        assertNotNull(sent.get("X-B3-SpanId"));
+    }
+}
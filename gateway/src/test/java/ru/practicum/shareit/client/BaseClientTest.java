@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+class BaseClientTest {
+
+    private static final String LARGE_BODY = IntStream.rangeClosed(1, 20_000)
+            .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"user" + i + "\",\"email\":\"user" + i + "@test.com\"}")
+            .collect(Collectors.joining(",", "[", "]"));
+
+    private static DisposableServer upstream;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/users", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just(LARGE_BODY))))
+                .bindNow();
+        registry.add("shareit-server.url", () -> "http://localhost:" + upstream.port());
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @Test
+    void returnsResponseBodyLargerThanDefaultCodecLimit() {
+        assertTrue(LARGE_BODY.length() > 256 * 1024);
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/users", String.class);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(LARGE_BODY, response.getBody());
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ClientConfig.class);
+
+    @Test
+    void bindsConnectionPoolProperties() {
+        contextRunner
+                .withPropertyValues(
+                        "shareit-server.max-connections=50",
+                        "shareit-server.pending-acquire-max-count=200",
+                        "shareit-server.pending-acquire-timeout=5s",
+                        "shareit-server.max-idle-time=15s",
+                        "shareit-server.max-life-time=5m",
+                        "shareit-server.eviction-interval=10s",
+                        "shareit-server.connect-timeout=1s",
+                        "shareit-server.read-timeout=20s",
+                        "shareit-server.keep-alive=false",
+                        "shareit-server.max-in-memory-size=1MB",
+                        "shareit-server.cache.max-size=100",
+                        "shareit-server.cache.ttl=30s")
+                .run(context -> {
+                    ClientProperties properties = context.getBean(ClientProperties.class);
+
+                    assertEquals(50, properties.getMaxConnections());
+                    assertEquals(200, properties.getPendingAcquireMaxCount());
+                    assertEquals(Duration.ofSeconds(5), properties.getPendingAcquireTimeout());
+                    assertEquals(Duration.ofSeconds(15), properties.getMaxIdleTime());
+                    assertEquals(Duration.ofMinutes(5), properties.getMaxLifeTime());
+                    assertEquals(Duration.ofSeconds(10), properties.getEvictionInterval());
+                    assertEquals(Duration.ofSeconds(1), properties.getConnectTimeout());
+                    assertEquals(Duration.ofSeconds(20), properties.getReadTimeout());
+                    assertFalse(properties.isKeepAlive());
+                    assertEquals(DataSize.ofMegabytes(1), properties.getMaxInMemorySize());
+                    assertEquals(100, properties.getCache().getMaxSize());
+                    assertEquals(Duration.ofSeconds(30), properties.getCache().getTtl());
+                    assertEquals(50, context.getBean(ConnectionProvider.class).maxConnections());
+                });
+    }
+
+    @Test
+    void pendingAcquireQueueIsBounded() {
+        DisposableServer upstream = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/users", (request, response) -> response
+                        .sendString(Mono.delay(Duration.ofMillis(500)).thenReturn("[]"))))
+                .bindNow();
+        try {
+            contextRunner
+                    .withPropertyValues(
+                            "shareit-server.max-connections=1",
+                            "shareit-server.pending-acquire-max-count=1")
+                    .run(context -> {
+                        WebClient.Builder builder = WebClient.builder()
+                                .baseUrl("http://localhost:" + upstream.port());
+                        context.getBean(WebClientCustomizer.class).customize(builder);
+                        WebClient client = builder.build();
+
+                        List<Mono<String>> requests = IntStream.range(0, 3)
+                                .mapToObj(i -> client.get()
+                                        .uri("/users")
+                                        .retrieve()
+                                        .bodyToMono(String.class))
+                                .collect(Collectors.toList());
+
+                        Exception exception = assertThrows(Exception.class,
+                                () -> Mono.zip(requests, results -> results).block(Duration.ofSeconds(10)));
+                        assertTrue(hasMessage(exception, "Pending acquire queue has reached its maximum size"),
+                                exception::toString);
+                    });
+        } finally {
+            upstream.disposeNow();
+        }
+    }
+
+    private static boolean hasMessage(Throwable throwable, String message) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
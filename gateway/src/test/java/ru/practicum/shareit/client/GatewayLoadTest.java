@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + GatewayLoadTest.SERVLET_THREADS,
+        "server.tomcat.threads.min-spare=" + GatewayLoadTest.SERVLET_THREADS,
+        "server.tomcat.accept-count=4096",
+        "shareit-server.max-connections=2500",
+        "shareit-server.cache.max-size=0",
+        "logging.level.org.springframework.web.servlet.DispatcherServlet=INFO",
+        "logging.level.org.springframework.web.reactive.function.client.ExchangeFunctions=INFO"
+})
+@Slf4j
+class GatewayLoadTest {
+
+    static final int SERVLET_THREADS = 8;
+
+    private static final int CONCURRENT_REQUESTS = 2000;
+
+    private static final Duration UPSTREAM_DELAY = Duration.ofSeconds(1);
+
+    private static DisposableServer upstream;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/users/{id}", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(UPSTREAM_DELAY)
+                                .thenReturn("{\"id\":" + request.param("id") + ",\"name\":\"user\"}"))))
+                .bindNow();
+        registry.add("shareit-server.url", () -> "http://localhost:" + upstream.port());
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @Test
+    void holdsThousandsOfSlowUpstreamCallsWithEightServletThreads() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .build();
+
+        long startedAt = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, CONCURRENT_REQUESTS)
+                .mapToObj(i -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + i))
+                        .timeout(Duration.ofSeconds(60))
+                        .build())
+                .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .collect(Collectors.toList());
+        long succeeded = responses.stream()
+                .map(CompletableFuture::join)
+                .filter(response -> response.statusCode() == 200)
+                .count();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        executor.shutdownNow();
+
+        log.info("{} concurrent requests, {} succeeded in {} ms", CONCURRENT_REQUESTS, succeeded, elapsed.toMillis());
+        assertEquals(CONCURRENT_REQUESTS, succeeded, "Не все запросы выполнены успешно");
+        // Блокирующий клиент держит поток Tomcat на все время запроса к серверу
+        Duration blockingLowerBound = UPSTREAM_DELAY.multipliedBy(CONCURRENT_REQUESTS / SERVLET_THREADS);
+        assertTrue(elapsed.compareTo(blockingLowerBound.dividedBy(4)) < 0, "Запросы выполнялись " + elapsed);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ru.practicum.shareit.client.CacheRegion.ITEMS;
+import static ru.practicum.shareit.client.CacheRegion.USERS;
+
+class ResponseCacheTest {
+
+    private final ResponseCache responseCache = new ResponseCache(new ClientProperties(), new SimpleMeterRegistry());
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Test
+    void secondReadIsServedFromCache() {
+        ResponseEntity<Object> first = responseCache.get(USERS, "/1", null, null, respond("user")).block();
+        ResponseEntity<Object> second = responseCache.get(USERS, "/1", null, null, respond("user")).block();
+
+        assertEquals(1, requests.get());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void differentPathUserOrParametersMissCache() {
+        responseCache.get(ITEMS, "", 1L, Map.of("from", 0), respond("items")).block();
+        responseCache.get(ITEMS, "/1", 1L, Map.of("from", 0), respond("item")).block();
+        responseCache.get(ITEMS, "", 2L, Map.of("from", 0), respond("items")).block();
+        responseCache.get(ITEMS, "", 1L, Map.of("from", 10), respond("items")).block();
+        responseCache.get(ITEMS, "", 1L, Map.of("from", 0), respond("items")).block();
+
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    void writeEvictsOnlyItsRegions() {
+        responseCache.get(USERS, "/1", null, null, respond("user")).block();
+        responseCache.get(ITEMS, "/1", 1L, null, respond("item")).block();
+
+        responseCache.evictAfter(Mono.just("updated"), USERS).block();
+        ResponseEntity<Object> user = responseCache.get(USERS, "/1", null, null, respond("updated user")).block();
+        responseCache.get(ITEMS, "/1", 1L, null, respond("item")).block();
+
+        assertEquals(3, requests.get());
+        assertEquals("updated user", user.getBody());
+    }
+
+    @Test
+    void failedWriteStillEvicts() {
+        responseCache.get(USERS, "/1", null, null, respond("user")).block();
+
+        responseCache.evictAfter(Mono.error(new IllegalStateException()), USERS)
+                .onErrorResume(e -> Mono.empty())
+                .block();
+        responseCache.get(USERS, "/1", null, null, respond("user")).block();
+
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void readStartedBeforeWriteIsNotCached() {
+        Sinks.One<ResponseEntity<Object>> staleResponse = Sinks.one();
+        Mono<ResponseEntity<Object>> read = responseCache.get(USERS, "/1", null, null, () -> {
+            requests.incrementAndGet();
+            return staleResponse.asMono();
+        });
+        Sinks.One<ResponseEntity<Object>> readResult = Sinks.one();
+        read.subscribe(readResult::tryEmitValue);
+
+        responseCache.evictAfter(Mono.just("updated"), USERS).block();
+        staleResponse.tryEmitValue(ResponseEntity.ok("stale user"));
+        ResponseEntity<Object> fresh = responseCache.get(USERS, "/1", null, null, respond("updated user")).block();
+
+        assertEquals("stale user", readResult.asMono().block().getBody());
+        assertEquals(2, requests.get());
+        assertEquals("updated user", fresh.getBody());
+    }
+
+    @Test
+    void errorResponsesAreNotCached() {
+        ResponseEntity<Object> notFound = responseCache.get(USERS, "/1", null, null,
+                respondWith(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "not found")))).block();
+        ResponseEntity<Object> user = responseCache.get(USERS, "/1", null, null, respond("user")).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        assertEquals(2, requests.get());
+        assertEquals("user", user.getBody());
+    }
+
+    @Test
+    void noCacheResponseIsNotCached() {
+        responseCache.get(ITEMS, "/1", 1L, null, respondWith(ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body("owner item"))).block();
+        ResponseEntity<Object> item = responseCache.get(ITEMS, "/1", 1L, null, respond("item")).block();
+        responseCache.get(ITEMS, "/1", 1L, null, respond("item")).block();
+
+        assertEquals(2, requests.get());
+        assertEquals("item", item.getBody());
+    }
+
+    @Test
+    void emptyResponseIsNotCached() {
+        assertNull(responseCache.get(USERS, "/1", null, null, () -> {
+            requests.incrementAndGet();
+            return Mono.empty();
+        }).block());
+        responseCache.get(USERS, "/1", null, null, respond("user")).block();
+
+        assertEquals(2, requests.get());
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> respond(Object body) {
+        return respondWith(ResponseEntity.ok(body));
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> respondWith(ResponseEntity<Object> response) {
+        return () -> {
+            requests.incrementAndGet();
+            return Mono.just(response);
+        };
+    }
+}
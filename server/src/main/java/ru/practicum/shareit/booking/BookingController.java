@@ -1,13 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.type.BookingSearchType;
 
 import java.util.List;
 
+import static ru.practicum.shareit.util.Header.NEXT_CURSOR;
 import static ru.practicum.shareit.util.Header.SHARER_USER_ID;
 
 @RestController
@@ -30,6 +34,19 @@ public class BookingController {
         return bookingService.create(dto, initiatorId);
     }
 
+    /**
+     * Пакетное создание бронирований
+     *
+     * @param dtos        Список объектов, содержащих данные для создания
+     * @param initiatorId Идентификатор инициатора
+     * @return Результаты создания в порядке переданных бронирований
+     */
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createAll(@RequestBody List<BookingDto> dtos,
+                                                 @RequestHeader(SHARER_USER_ID) Long initiatorId) {
+        return bookingService.createAll(dtos, initiatorId);
+    }
+
     /**
      * Подтверждение или отклонение запроса на бронирование
      *
@@ -44,6 +61,21 @@ public class BookingController {
         return bookingService.changeStatus(bookingId, approved, userId);
     }
 
+    /**
+     * Пакетное подтверждение или отклонение запросов на бронирование
+     *
+     * @param bookingIds Идентификаторы бронирований
+     * @param approved   Признак одобрения
+     * @param userId     Идентификатор пользователя
+     * @return Результаты изменения в порядке переданных идентификаторов
+     */
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> changeStatusAll(@RequestBody List<Long> bookingIds,
+                                                       @RequestParam Boolean approved,
+                                                       @RequestHeader(SHARER_USER_ID) Long userId) {
+        return bookingService.changeStatusAll(bookingIds, approved, userId);
+    }
+
     /**
      * Получение данных о бронировании по идентификатору
      *
@@ -57,34 +89,61 @@ public class BookingController {
     }
 
     /**
-     * Постраничное получение списка всех бронирований текущего пользователя
+     * Постраничное получение списка всех бронирований текущего пользователя.
+     * Если передан курсор, список продолжается с позиции курсора, а индекс первого элемента игнорируется.
+     * При полной странице курсор следующей страницы возвращается в заголовке X-Next-Cursor
      *
      * @param state  Статус бронирований
      * @param userId Идентификатор пользователя
      * @param size   Количество элементов для отображения
      * @param from   Индекс первого элемента
+     * @param cursor Курсор, полученный с предыдущей страницей
      * @return Список бронирований
      */
     @GetMapping
-    public List<BookingDto> getBookingsByUserId(@RequestParam(defaultValue = "ALL") String state,
-                                                @RequestHeader(SHARER_USER_ID) Long userId, @RequestParam Integer size,
-                                                @RequestParam Integer from) {
-        return bookingService.getBookingsByUserId(BookingSearchType.valueOf(state), userId, size, from);
+    public ResponseEntity<List<BookingDto>> getBookingsByUserId(@RequestParam(defaultValue = "ALL") String state,
+                                                                @RequestHeader(SHARER_USER_ID) Long userId,
+                                                                @RequestParam Integer size, @RequestParam Integer from,
+                                                                @RequestParam(required = false) String cursor) {
+        List<BookingDto> bookings = cursor == null
+                ? bookingService.getBookingsByUserId(BookingSearchType.valueOf(state), userId, size, from)
+                : bookingService.getBookingsByUserIdAfter(BookingSearchType.valueOf(state), userId, size,
+                BookingCursor.decode(cursor));
+        return withNextCursor(bookings, size);
     }
 
     /**
-     * Постраничное получение списка бронирований для всех вещей по идентификатору владельца вещи
+     * Постраничное получение списка бронирований для всех вещей по идентификатору владельца вещи.
+     * Если передан курсор, список продолжается с позиции курсора, а индекс первого элемента игнорируется.
+     * При полной странице курсор следующей страницы возвращается в заголовке X-Next-Cursor
      *
      * @param state   Статус бронирований
      * @param ownerId Идентификатор владельца
      * @param size    Количество элементов для отображения
      * @param from    Индекс первого элемента
+     * @param cursor  Курсор, полученный с предыдущей страницей
      * @return Список бронирований
      */
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsByItemOwner(@RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestHeader(SHARER_USER_ID) Long ownerId,
-                                                   @RequestParam Integer size, @RequestParam Integer from) {
-        return bookingService.getBookingsByItemOwner(BookingSearchType.valueOf(state), ownerId, size, from);
+    public ResponseEntity<List<BookingDto>> getBookingsByItemOwner(@RequestParam(defaultValue = "ALL") String state,
+                                                                   @RequestHeader(SHARER_USER_ID) Long ownerId,
+                                                                   @RequestParam Integer size,
+                                                                   @RequestParam Integer from,
+                                                                   @RequestParam(required = false) String cursor) {
+        List<BookingDto> bookings = cursor == null
+                ? bookingService.getBookingsByItemOwner(BookingSearchType.valueOf(state), ownerId, size, from)
+                : bookingService.getBookingsByItemOwnerAfter(BookingSearchType.valueOf(state), ownerId, size,
+                BookingCursor.decode(cursor));
+        return withNextCursor(bookings, size);
+    }
+
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            BookingDto last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR, new BookingCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(bookings);
     }
 }
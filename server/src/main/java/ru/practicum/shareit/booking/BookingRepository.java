@@ -1,16 +1,21 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.type.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking>,
+        BookingRepositoryCustom {
 
     /**
      * Поиск бронирования по идентификатору и индентификатору владельца
@@ -19,39 +24,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
      * @param ownerId   Идентификатор владельца
      * @return Бронирование
      */
+    @EntityGraph(Booking.WITH_ITEM_AND_INITIATOR)
     Optional<Booking> findByIdAndItemOwnerId(Long bookingId, Long ownerId);
 
     /**
-     * Поиск пересечений по промежуткам бронирования
+     * Поиск бронирований по идентификаторам вместе с вещами и инициаторами
      *
-     * @param itemId    Идентификатор вещи
-     * @param startDttm Начало периода бронирования
-     * @param endDttm   Окончание периода бронирования
-     * @return Список бронирований, совпадающих по промежуткам
+     * @param bookingIds Идентификаторы бронирований
+     * @return Список бронирований
      */
-    @Query("SELECT b FROM Booking b "
-            + "WHERE b.item.id = ?1 AND b.status = 'APPROVED' AND b.startDttm <= ?3 AND b.endDttm >= ?2")
-    List<Booking> findIntersections(Long itemId, LocalDateTime startDttm, LocalDateTime endDttm);
+    @EntityGraph(Booking.WITH_ITEM_AND_INITIATOR)
+    List<Booking> findByIdIn(Collection<Long> bookingIds);
 
     /**
-     * Поиск последнего бронирования по идентификатору вещи
+     * Получение идентификаторов вещей владельца, к которым относятся бронирования
      *
-     * @param itemId Идентификатор вещи
-     * @return Список из бронирований по возрастанию даты начала
+     * @param bookingIds Идентификаторы бронирований
+     * @param ownerId    Идентификатор владельца
+     * @return Идентификаторы вещей
      */
-    @Query(value = "SELECT * FROM bookings WHERE item_id = ?1 "
-            + "AND status = 'APPROVED' and start_dttm < now() ORDER BY start_dttm DESC LIMIT 1", nativeQuery = true)
-    Optional<Booking> findLastByItemId(Long itemId);
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN ?1 AND b.item.owner.id = ?2")
+    List<Long> findItemIdsByIdInAndItemOwnerId(Collection<Long> bookingIds, Long ownerId);
 
     /**
-     * Поиск ближайшего бронирования по идентификатору вещи
+     * Изменение статуса бронирований одним запросом. Одобренные бронирования не изменяются.
+     * Контекст персистентности очищается, загруженные ранее бронирования становятся отсоединенными
      *
-     * @param itemId Идентификатор вещи
-     * @return Список из бронирований по возрастанию даты начала
+     * @param bookingIds Идентификаторы бронирований
+     * @param status     Новый статус
+     * @return Количество измененных бронирований
      */
-    @Query(value = "SELECT * FROM bookings WHERE item_id = ?1 "
-            + "AND status = 'APPROVED' and start_dttm > now() ORDER BY start_dttm LIMIT 1", nativeQuery = true)
-    Optional<Booking> findNextByItemId(Long itemId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?2 WHERE b.id IN ?1 AND b.status <> 'APPROVED'")
+    int updateStatus(Collection<Long> bookingIds, BookingStatus status);
+
+    /**
+     * Поиск пересечений по промежуткам бронирования
+     *
+     * @param itemId    Идентификатор вещи
+     * @param startDttm Начало периода бронирования
+     * @param endDttm   Окончание периода бронирования
+     * @return Список бронирований, совпадающих по промежуткам
+     */
+    @Query("SELECT b FROM Booking b "
+            + "WHERE b.item.id = ?1 AND b.status = 'APPROVED' AND b.startDttm <= ?3 AND b.endDttm >= ?2")
+    List<Booking> findIntersections(Long itemId, LocalDateTime startDttm, LocalDateTime endDttm);
 
     /**
      * Поиск бронирования по идентификатору и индентификатору владельца/инициатора брони
@@ -60,6 +77,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
      * @param userId    Идентификатор владельца/инициатора
      * @return Бронирование
      */
+    @EntityGraph(Booking.WITH_ITEM_AND_INITIATOR)
     @Query("SELECT b FROM Booking b WHERE b.id = ?1 AND (b.item.owner.id = ?2 OR b.initiator.id = ?2)")
     Optional<Booking> findByIdAndItemOwnerIdOrInitiatorId(Long bookingId, Long userId);
 
@@ -70,6 +88,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
      * @param pageable    Параметры пагинации
      * @return Список бронирований
      */
+    @EntityGraph(Booking.WITH_ITEM_AND_INITIATOR)
     List<Booking> findByInitiatorIdOrderByStartDttmDesc(Long initiatorId, Pageable pageable);
 
     /**
@@ -79,6 +98,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
      * @param pageable Параметры пагинации
      * @return Список бронирований
      */
+    @EntityGraph(Booking.WITH_ITEM_AND_INITIATOR)
     List<Booking> findByItemOwnerIdOrderByStartDttmDesc(Long ownerId, Pageable pageable);
 
     /**
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.LastOrNextBooking;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Получение бронирований по условию, следующих за курсором, без подсчета общего количества.
+     * Бронирования отсортированы по убыванию даты начала и идентификатора
+     *
+     * @param predicate Условие поиска
+     * @param after     Позиция последнего полученного бронирования, null - с начала списка
+     * @param limit     Количество элементов для отображения
+     * @return Список бронирований
+     */
+    List<Booking> findAllAfter(Predicate predicate, @Nullable BookingCursor after, int limit);
+
+    /**
+     * Постраничное получение бронирований по условию без подсчета общего количества.
+     * Бронирования отсортированы по убыванию даты начала и идентификатора
+     *
+     * @param predicate Условие поиска
+     * @param offset    Индекс первого элемента
+     * @param limit     Количество элементов для отображения
+     * @return Список бронирований
+     */
+    List<Booking> findAll(Predicate predicate, long offset, int limit);
+
+    /**
+     * Поиск последнего и ближайшего одобренных бронирований для каждой вещи из списка
+     *
+     * @param itemIds Идентификаторы вещей
+     * @return Список бронирований с признаком последнего, не более двух (последнее и ближайшее) на каждую вещь
+     */
+    List<LastOrNextBooking> findLastAndNextByItemIdIn(Collection<Long> itemIds);
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.LastOrNextBooking;
+import ru.practicum.shareit.booking.model.QBooking;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final QBooking BOOKING = QBooking.booking;
+
+    private static final String LAST_AND_NEXT_QUERY = "SELECT booking_id, item_id, initiator_id, start_dttm, "
+            + "end_dttm, status, is_last FROM ("
+            + "SELECT b.*, b.start_dttm < now() AS is_last, ROW_NUMBER() OVER (PARTITION BY b.item_id, "
+            + "b.start_dttm < now() ORDER BY CASE WHEN b.start_dttm < now() THEN b.start_dttm END DESC, "
+            + "b.start_dttm) AS rn "
+            + "FROM bookings b WHERE b.item_id IN (?1) AND b.status = 'APPROVED' AND b.start_dttm <> now()) t "
+            + "WHERE t.rn = 1";
+
+    private final EntityManager entityManager;
+
+    private final JPAQueryFactory queryFactory;
+
+    public BookingRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Override
+    public List<Booking> findAllAfter(Predicate predicate, @Nullable BookingCursor after, int limit) {
+        BooleanBuilder where = new BooleanBuilder(predicate);
+        if (after != null) {
+            where.and(BOOKING.startDttm.lt(after.getStartDttm())
+                    .or(BOOKING.startDttm.eq(after.getStartDttm()).and(BOOKING.id.lt(after.getBookingId()))));
+        }
+        return selectOrdered(where)
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<Booking> findAll(Predicate predicate, long offset, int limit) {
+        return selectOrdered(predicate)
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LastOrNextBooking> findLastAndNextByItemIdIn(Collection<Long> itemIds) {
+        List<Object[]> rows = entityManager.createNativeQuery(LAST_AND_NEXT_QUERY, Booking.WITH_LAST_MARK)
+                .setParameter(1, itemIds)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new LastOrNextBooking((Booking) row[0], (Boolean) row[1]))
+                .collect(Collectors.toList());
+    }
+
+    private JPAQuery<Booking> selectOrdered(Predicate predicate) {
+        return queryFactory.selectFrom(BOOKING)
+                .join(BOOKING.item).fetchJoin()
+                .join(BOOKING.initiator).fetchJoin()
+                .where(predicate)
+                .orderBy(BOOKING.startDttm.desc(), BOOKING.id.desc());
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.type.BookingSearchType;
 
 import java.util.List;
@@ -16,6 +18,16 @@ public interface BookingService {
      */
     BookingDto create(BookingDto dto, Long initiatorId);
 
+    /**
+     * Пакетное создание бронирований одного инициатора.
+     * Каждое бронирование проверяется отдельно, ошибка одного из них не отменяет создание остальных
+     *
+     * @param dtos        Список объектов, содержащих данные для создания
+     * @param initiatorId Идентификатор инициатора
+     * @return Результаты в порядке переданных бронирований
+     */
+    List<BookingBatchResultDto> createAll(List<BookingDto> dtos, Long initiatorId);
+
     /**
      * Подтверждение или отклонение запроса на бронирование
      *
@@ -26,6 +38,17 @@ public interface BookingService {
      */
     BookingDto changeStatus(Long bookingId, Boolean approved, Long ownerId);
 
+    /**
+     * Пакетное подтверждение или отклонение запросов на бронирование вещей владельца.
+     * Каждое бронирование проверяется отдельно, ошибка одного из них не отменяет изменение остальных
+     *
+     * @param bookingIds Идентификаторы бронирований
+     * @param approved   Признак одобрения
+     * @param ownerId    Идентификатор владельца
+     * @return Результаты в порядке переданных идентификаторов
+     */
+    List<BookingBatchResultDto> changeStatusAll(List<Long> bookingIds, Boolean approved, Long ownerId);
+
     /**
      * Получение данных о бронировании по идентификатору
      *
@@ -56,4 +79,28 @@ public interface BookingService {
      * @return Список бронирований
      */
     List<BookingDto> getBookingsByItemOwner(BookingSearchType state, Long ownerId, Integer size, Integer from);
+
+    /**
+     * Получение списка всех бронирований текущего пользователя, следующих за курсором
+     *
+     * @param state  Статус бронирований
+     * @param userId Идентификатор пользователя
+     * @param size   Количество элементов для отображения
+     * @param after  Позиция последнего полученного бронирования, null - с начала списка
+     * @return Список бронирований
+     */
+    List<BookingDto> getBookingsByUserIdAfter(BookingSearchType state, Long userId, Integer size,
+                                              BookingCursor after);
+
+    /**
+     * Получение списка бронирований для всех вещей владельца, следующих за курсором
+     *
+     * @param state   Статус бронирований
+     * @param ownerId Идентификатор владельца
+     * @param size    Количество элементов для отображения
+     * @param after   Позиция последнего полученного бронирования, null - с начала списка
+     * @return Список бронирований
+     */
+    List<BookingDto> getBookingsByItemOwnerAfter(BookingSearchType state, Long ownerId, Integer size,
+                                                 BookingCursor after);
 }
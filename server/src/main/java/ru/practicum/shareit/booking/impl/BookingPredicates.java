@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.impl;
+
+import com.google.common.collect.RangeSet;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.booking.model.type.BookingSearchType;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static ru.practicum.shareit.booking.model.type.BookingStatus.*;
+import static ru.practicum.shareit.exception.type.ExceptionType.INVALID_BOOKING_STATE;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingPredicates {
+
+    /**
+     * Построение условия поиска бронирований пользователя по статусу
+     *
+     * @param userId  Идентификатор владельца/инициатора
+     * @param state   Статус бронирований
+     * @param isOwner Признак поиска по вещам владельца
+     * @return Условие поиска
+     */
+    public static BooleanExpression of(Long userId, BookingSearchType state, boolean isOwner) {
+        BooleanExpression startDttmLessThanNow = QBooking.booking.startDttm.before(LocalDateTime.now());
+        BooleanExpression endDttmMoreThanNow = QBooking.booking.endDttm.after(LocalDateTime.now());
+        BooleanExpression endDttmLessThanNow = QBooking.booking.endDttm.before(LocalDateTime.now());
+        BooleanExpression startDttmMoreThanNow = QBooking.booking.startDttm.after(LocalDateTime.now());
+        BooleanExpression isApproved = QBooking.booking.status.eq(APPROVED);
+        BooleanExpression isNotRejected = QBooking.booking.status.ne(REJECTED);
+        BooleanExpression isRejected = QBooking.booking.status.eq(REJECTED);
+        BooleanExpression isWaiting = QBooking.booking.status.eq(WAITING);
+        BooleanExpression byUserId = QBooking.booking.item.owner.id.eq(userId);
+        BooleanExpression byInitiatorId = QBooking.booking.initiator.id.eq(userId);
+
+        switch (state) {
+            case ALL:
+                return isOwner ? byUserId : byInitiatorId;
+            case CURRENT:
+                return isOwner
+                        ? startDttmLessThanNow.and(endDttmMoreThanNow).and(byUserId)
+                        : startDttmLessThanNow.and(endDttmMoreThanNow).and(byInitiatorId);
+            case PAST:
+                return isOwner
+                        ? isApproved.and(endDttmLessThanNow).and(byUserId)
+                        : isApproved.and(endDttmLessThanNow).and(byInitiatorId);
+            case FUTURE:
+                return isOwner
+                        ? isNotRejected.and(startDttmMoreThanNow).and(byUserId)
+                        : isNotRejected.and(startDttmMoreThanNow).and(byInitiatorId);
+            case WAITING:
+                return isOwner ? isWaiting.and(byUserId) : isWaiting.and(byInitiatorId);
+            case REJECTED:
+                return isOwner ? isRejected.and(byUserId) : isRejected.and(byInitiatorId);
+            default:
+                throw new NotFoundException(String.format(INVALID_BOOKING_STATE.getValue(), state));
+        }
+    }
+
+    /**
+     * Построение условия поиска одобренных бронирований, пересекающихся хотя бы с одним периодом своей вещи.
+     * Пересекающиеся периоды вещи объединены в RangeSet, поэтому бронирования в промежутках между периодами
+     * не попадают в результат
+     *
+     * @param periodsByItemId Периоды бронирования, сгруппированные по идентификатору вещи
+     * @return Условие поиска
+     */
+    public static BooleanExpression approvedIntersections(Map<Long, RangeSet<LocalDateTime>> periodsByItemId) {
+        QBooking booking = QBooking.booking;
+        BooleanBuilder anyPeriod = new BooleanBuilder();
+
+        periodsByItemId.forEach((itemId, periods) -> periods.asRanges().forEach(period -> anyPeriod.or(
+                booking.item.id.eq(itemId)
+                        .and(booking.startDttm.loe(period.upperEndpoint()))
+                        .and(booking.endDttm.goe(period.lowerEndpoint())))));
+        return booking.status.eq(APPROVED).and(anyPeriod);
+    }
+}
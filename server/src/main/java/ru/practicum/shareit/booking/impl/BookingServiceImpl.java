@@ -1,9 +1,13 @@
 package ru.practicum.shareit.booking.impl;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -11,10 +15,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.type.BookingStatus;
 import ru.practicum.shareit.booking.model.type.BookingSearchType;
 import ru.practicum.shareit.exception.BookingPeriodException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -24,7 +30,16 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -36,6 +51,7 @@ import static ru.practicum.shareit.exception.type.ExceptionType.*;
 @Transactional
 @Slf4j
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class BookingServiceImpl implements BookingService {
 
     private static final String START_DTTM = "startDttm";
@@ -48,16 +64,17 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
 
+    private final MeterRegistry meterRegistry;
+
     @Override
     public BookingDto create(BookingDto dto, Long initiatorId) {
-        if (dto.getStart().isBefore(LocalDateTime.now()) || dto.getEnd().isBefore(dto.getStart())
-                || dto.getEnd().isEqual(dto.getStart())) {
+        if (!isValidPeriod(dto)) {
             throw new BookingPeriodException();
         }
         Long itemId = dto.getItemId();
         User initiator = userRepository.findById(initiatorId)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND.getValue() + initiatorId));
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND.getValue() + itemId));
 
         checkArgument(item.getAvailable(), "item is unavailable for booking");
@@ -73,19 +90,113 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.mapToDto(bookingRepository.save(booking));
     }
 
+    @Override
+    public List<BookingBatchResultDto> createAll(List<BookingDto> dtos, Long initiatorId) {
+        User initiator = userRepository.findById(initiatorId)
+                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND.getValue() + initiatorId));
+        Set<Long> itemIds = dtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemIds.isEmpty() ? Map.of() : itemRepository.findAllByIdForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> approved = findApprovedIntersections(dtos, items.keySet());
+        List<BookingBatchResultDto> results = new ArrayList<>(dtos.size());
+        List<Booking> bookings = new ArrayList<>(dtos.size());
+
+        for (BookingDto dto : dtos) {
+            try {
+                Item item = items.get(dto.getItemId());
+                checkBatchEntry(dto, item, initiatorId, approved.getOrDefault(dto.getItemId(), List.of()));
+                Booking booking = bookingMapper.mapToModel(dto, initiator, item, WAITING);
+                bookings.add(booking);
+                results.add(BookingBatchResultDto.builder().build());
+            } catch (NotFoundException | BookingPeriodException | IllegalArgumentException e) {
+                results.add(BookingBatchResultDto.builder()
+                        .error(e.getMessage())
+                        .build());
+            }
+        }
+        log.info("creating {} of {} bookings by userId = {}", bookings.size(), dtos.size(), initiatorId);
+        Iterator<Booking> saved = bookingRepository.saveAll(bookings).iterator();
+        for (BookingBatchResultDto result : results) {
+            if (result.getError() == null) {
+                result.setBooking(bookingMapper.mapToDto(saved.next()));
+            }
+        }
+        return results;
+    }
+
     @Override
     public BookingDto changeStatus(Long bookingId, Boolean approved, Long ownerId) {
+        Long itemId = bookingRepository.findItemIdsByIdInAndItemOwnerId(List.of(bookingId), ownerId).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND.getValue() + bookingId));
+        // вещь блокируется до чтения бронирования, чтобы статус учитывал параллельные одобрение и отклонение
+        itemRepository.findByIdForUpdate(itemId);
         Booking booking = bookingRepository.findByIdAndItemOwnerId(bookingId, ownerId)
                 .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND.getValue() + bookingId));
 
         if (APPROVED.equals(booking.getStatus())) {
             throw new UnsupportedOperationException(String.format(ALREADY_APPROVED.getValue(), bookingId));
         }
+        if (approved) {
+            if (!bookingRepository.findIntersections(booking.getItem().getId(), booking.getStartDttm(),
+                    booking.getEndDttm()).isEmpty()) {
+                throw new NotFoundException(INVALID_BOOKING_PERIOD.getValue());
+            }
+        }
         booking.setStatus(approved ? APPROVED : REJECTED);
         log.info("approval status of bookingId = {} is {}", bookingId, booking.getStatus().toString());
         return bookingMapper.mapToDto(bookingRepository.save(booking));
     }
 
+    @Override
+    public List<BookingBatchResultDto> changeStatusAll(List<Long> bookingIds, Boolean approved, Long ownerId) {
+        List<Long> itemIds = bookingIds.isEmpty() ? List.of()
+                : bookingRepository.findItemIdsByIdInAndItemOwnerId(bookingIds, ownerId);
+        // вещи блокируются до чтения бронирований, чтобы статусы учитывали параллельные одобрения
+        List<Booking> found = itemIds.isEmpty() ? List.of() : lockItemsAndFindBookings(itemIds, bookingIds);
+        Map<Long, Booking> bookings = found.stream()
+                .filter(b -> b.getItem().getOwner().getId().equals(ownerId))
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, List<Booking>> approvedByItem = approved ? findApproved(bookings.values()) : Map.of();
+        Map<Long, String> errors = new HashMap<>();
+        List<Booking> changed = new ArrayList<>();
+
+        for (Long bookingId : new LinkedHashSet<>(bookingIds)) {
+            try {
+                Booking booking = bookings.get(bookingId);
+                checkStatusChange(bookingId, booking, approvedByItem);
+                if (approved) {
+                    approvedByItem.get(booking.getItem().getId()).add(booking);
+                }
+                changed.add(booking);
+            } catch (NotFoundException | UnsupportedOperationException e) {
+                errors.put(bookingId, e.getMessage());
+            }
+        }
+        BookingStatus status = approved ? APPROVED : REJECTED;
+        Map<Long, BookingDto> dtos = new HashMap<>();
+
+        log.info("changing status of {} of {} bookings to {} by ownerId = {}", changed.size(), bookingIds.size(),
+                status, ownerId);
+        if (!changed.isEmpty()) {
+            bookingRepository.updateStatus(changed.stream().map(Booking::getId).collect(Collectors.toList()), status);
+        }
+        // после массового обновления бронирования отсоединены, изменение статуса не попадет в БД повторно
+        for (Booking booking : changed) {
+            booking.setStatus(status);
+            dtos.put(booking.getId(), bookingMapper.mapToDto(booking));
+        }
+        return bookingIds.stream()
+                .map(id -> BookingBatchResultDto.builder()
+                        .booking(dtos.get(id))
+                        .error(errors.get(id))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookingDto getBookingById(Long bookingId, Long userId) {
@@ -93,26 +204,19 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND.getValue() + bookingId));
 
         log.info("returning bookingId = {}", bookingId);
-        return bookingMapper.mapToDto(bookingRepository.save(booking));
+        return bookingMapper.mapToDto(booking);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BookingDto> getBookingsByUserId(BookingSearchType state, Long userId, Integer size, Integer from) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException(USER_NOT_FOUND.getValue() + userId);
-        }
-        List<Booking> bookings;
         int page = from != 0 ? from / size : from;
         Pageable pageable = PageRequest.of(page, size, Sort.by(START_DTTM).descending());
 
         log.info("searching for current userId = {} bookings by status = {}", userId, state.toString());
-        if (ALL.equals(state)) {
-            bookings = bookingRepository.findByInitiatorIdOrderByStartDttmDesc(userId, pageable);
-        } else {
-            bookings = find(userId, state, pageable, false).getContent();
-        }
+        List<Booking> bookings = find(userId, state, pageable, false);
         log.info("found {} bookings", bookings.size());
+        checkUserExists(bookings, userId);
         return bookings.stream()
                 .map(bookingMapper::mapToDto)
                 .collect(Collectors.toList());
@@ -121,62 +225,203 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public List<BookingDto> getBookingsByItemOwner(BookingSearchType state, Long ownerId, Integer size, Integer from) {
-        if (!userRepository.existsById(ownerId)) {
-            throw new NotFoundException(USER_NOT_FOUND.getValue() + ownerId);
-        }
-        List<Booking> bookings;
         int page = from != 0 ? from / size : from;
         Pageable pageable = PageRequest.of(page, size, Sort.by(START_DTTM).descending());
 
         log.info("searching for owner userId = {} bookings by status = {}", ownerId, state.toString());
-        if (ALL.equals(state)) {
-            bookings = bookingRepository.findByItemOwnerIdOrderByStartDttmDesc(ownerId, pageable);
-        } else {
-            bookings = find(ownerId, state, pageable, true).getContent();
-        }
+        List<Booking> bookings = find(ownerId, state, pageable, true);
+        log.info("found {} bookings", bookings.size());
+        checkUserExists(bookings, ownerId);
+        return bookings.stream()
+                .map(bookingMapper::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getBookingsByUserIdAfter(BookingSearchType state, Long userId, Integer size,
+                                                     BookingCursor after) {
+        log.info("searching for current userId = {} bookings by status = {} after {}", userId, state.toString(), after);
+        List<Booking> bookings = searchTimer(state, false, "cursor")
+                .record(() -> bookingRepository.findAllAfter(BookingPredicates.of(userId, state, false), after, size));
+
         log.info("found {} bookings", bookings.size());
+        checkUserExists(bookings, userId);
         return bookings.stream()
                 .map(bookingMapper::mapToDto)
                 .collect(Collectors.toList());
     }
 
-    private Page<Booking> find(Long userId, BookingSearchType state, Pageable pageable, boolean isOwner) {
-        BooleanExpression startDttmLessThanNow = QBooking.booking.startDttm.before(LocalDateTime.now());
-        BooleanExpression endDttmMoreThanNow = QBooking.booking.endDttm.after(LocalDateTime.now());
-        BooleanExpression endDttmLessThanNow = QBooking.booking.endDttm.before(LocalDateTime.now());
-        BooleanExpression startDttmMoreThanNow = QBooking.booking.startDttm.after(LocalDateTime.now());
-        BooleanExpression isApproved = QBooking.booking.status.eq(APPROVED);
-        BooleanExpression isNotRejected = QBooking.booking.status.ne(REJECTED);
-        BooleanExpression isRejected = QBooking.booking.status.eq(REJECTED);
-        BooleanExpression isWaiting = QBooking.booking.status.eq(WAITING);
-        BooleanExpression byUserId = QBooking.booking.item.owner.id.eq(userId);
-        BooleanExpression byInitiatorId = QBooking.booking.initiator.id.eq(userId);
-
-        switch (state) {
-            case CURRENT:
-                return isOwner
-                        ? bookingRepository.findAll(startDttmLessThanNow.and(endDttmMoreThanNow).and(byUserId), pageable)
-                        : bookingRepository.findAll(
-                        startDttmLessThanNow.and(endDttmMoreThanNow), pageable);
-            case PAST:
-                return isOwner
-                        ? bookingRepository.findAll(isApproved.and(endDttmLessThanNow).and(byUserId), pageable)
-                        : bookingRepository.findAll(isApproved.and(endDttmLessThanNow), pageable);
-            case FUTURE:
-                return isOwner
-                        ? bookingRepository.findAll(isNotRejected.and(startDttmMoreThanNow).and(byUserId), pageable)
-                        : bookingRepository.findAll(isNotRejected.and(startDttmMoreThanNow), pageable);
-            case WAITING:
-                return isOwner ? bookingRepository.findAll(isWaiting.and(byUserId), pageable)
-                        : bookingRepository.findAll(isWaiting, pageable);
-            case REJECTED:
-                return isOwner
-                        ? bookingRepository.findAll(isRejected.and(byUserId), pageable)
-                        : bookingRepository.findAll(isRejected.and(byInitiatorId), pageable);
-            default:
-                throw new NotFoundException(String.format(INVALID_BOOKING_STATE.getValue(), state));
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getBookingsByItemOwnerAfter(BookingSearchType state, Long ownerId, Integer size,
+                                                        BookingCursor after) {
+        log.info("searching for owner userId = {} bookings by status = {} after {}", ownerId, state.toString(), after);
+        List<Booking> bookings = searchTimer(state, true, "cursor")
+                .record(() -> bookingRepository.findAllAfter(BookingPredicates.of(ownerId, state, true), after, size));
+
+        log.info("found {} bookings", bookings.size());
+        checkUserExists(bookings, ownerId);
+        return bookings.stream()
+                .map(bookingMapper::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Проверка бронирования из пакета по тем же правилам, что и при создании одиночного бронирования
+     *
+     * @param dto         Объект, содержащий данные для создания
+     * @param item        Вещь, null - если не найдена
+     * @param initiatorId Идентификатор инициатора
+     * @param approved    Одобренные бронирования вещи, пересекающиеся с периодом пакета
+     */
+    private static void checkBatchEntry(BookingDto dto, Item item, Long initiatorId, List<Booking> approved) {
+        if (!isValidPeriod(dto)) {
+            throw new BookingPeriodException();
+        }
+        if (item == null) {
+            throw new NotFoundException(ITEM_NOT_FOUND.getValue() + dto.getItemId());
+        }
+        checkArgument(item.getAvailable(), "item is unavailable for booking");
+        if (item.getOwner().getId().equals(initiatorId)) {
+            throw new NotFoundException(BOOKING_BY_OWNER.getValue());
+        }
+        if (intersects(approved, dto.getStart(), dto.getEnd())) {
+            throw new NotFoundException(INVALID_BOOKING_PERIOD.getValue());
+        }
+    }
+
+    /**
+     * Проверка бронирования из пакета изменения статуса по тем же правилам, что и для одиночного бронирования
+     *
+     * @param bookingId      Идентификатор бронирования
+     * @param booking        Бронирование, null - если не найдено среди бронирований вещей владельца
+     * @param approvedByItem Одобренные бронирования, сгруппированные по идентификатору вещи, пусто при отклонении
+     */
+    private static void checkStatusChange(Long bookingId, Booking booking, Map<Long, List<Booking>> approvedByItem) {
+        if (booking == null) {
+            throw new NotFoundException(BOOKING_NOT_FOUND.getValue() + bookingId);
+        }
+        if (APPROVED.equals(booking.getStatus())) {
+            throw new UnsupportedOperationException(String.format(ALREADY_APPROVED.getValue(), bookingId));
+        }
+        if (intersects(approvedByItem.getOrDefault(booking.getItem().getId(), List.of()), booking.getStartDttm(),
+                booking.getEndDttm())) {
+            throw new NotFoundException(INVALID_BOOKING_PERIOD.getValue());
+        }
+    }
+
+    /**
+     * Блокировка вещей и получение бронирований пакета после блокировки
+     *
+     * @param itemIds    Идентификаторы вещей бронирований
+     * @param bookingIds Идентификаторы бронирований
+     * @return Список бронирований
+     */
+    private List<Booking> lockItemsAndFindBookings(List<Long> itemIds, List<Long> bookingIds) {
+        itemRepository.findAllByIdForUpdate(itemIds);
+        return bookingRepository.findByIdIn(bookingIds);
+    }
+
+    /**
+     * Получение одобренных бронирований вещей, пересекающихся с периодами бронирований, одним запросом.
+     * Вещи должны быть заблокированы вызывающим методом
+     *
+     * @param bookings Бронирования, которые требуется одобрить
+     * @return Изменяемые списки одобренных бронирований, сгруппированные по идентификатору вещи
+     */
+    private Map<Long, List<Booking>> findApproved(Collection<Booking> bookings) {
+        Map<Long, List<Booking>> approvedByItem = new HashMap<>();
+        if (bookings.isEmpty()) {
+            return approvedByItem;
+        }
+        Map<Long, RangeSet<LocalDateTime>> periods = new HashMap<>();
+        for (Booking booking : bookings) {
+            Long itemId = booking.getItem().getId();
+            addPeriod(periods, itemId, booking.getStartDttm(), booking.getEndDttm());
+            approvedByItem.putIfAbsent(itemId, new ArrayList<>());
+        }
+        bookingRepository.findAll(BookingPredicates.approvedIntersections(periods))
+                .forEach(b -> approvedByItem.get(b.getItem().getId()).add(b));
+        return approvedByItem;
+    }
+
+    private static boolean intersects(List<Booking> approved, LocalDateTime startDttm, LocalDateTime endDttm) {
+        return approved.stream()
+                .anyMatch(b -> !b.getStartDttm().isAfter(endDttm) && !b.getEndDttm().isBefore(startDttm));
+    }
+
+    /**
+     * Получение одобренных бронирований вещей пакета, пересекающихся с периодами пакета, одним запросом.
+     * Условие строится по периодам каждой вещи, а не по общему периоду пакета
+     *
+     * @param dtos    Список объектов, содержащих данные для создания
+     * @param itemIds Идентификаторы найденных вещей
+     * @return Одобренные бронирования, сгруппированные по идентификатору вещи
+     */
+    private Map<Long, List<Booking>> findApprovedIntersections(List<BookingDto> dtos, Set<Long> itemIds) {
+        Map<Long, RangeSet<LocalDateTime>> periods = new HashMap<>();
+        dtos.stream()
+                .filter(dto -> itemIds.contains(dto.getItemId()) && isValidPeriod(dto))
+                .forEach(dto -> addPeriod(periods, dto.getItemId(), dto.getStart(), dto.getEnd()));
+        if (periods.isEmpty()) {
+            return Map.of();
         }
+        Map<Long, List<Booking>> approvedByItem = new HashMap<>();
+        bookingRepository.findAll(BookingPredicates.approvedIntersections(periods))
+                .forEach(b -> approvedByItem.computeIfAbsent(b.getItem().getId(), id -> new ArrayList<>()).add(b));
+        return approvedByItem;
     }
 
+    private static void addPeriod(Map<Long, RangeSet<LocalDateTime>> periods, Long itemId, LocalDateTime start,
+                                  LocalDateTime end) {
+        periods.computeIfAbsent(itemId, id -> TreeRangeSet.create()).add(Range.closed(start, end));
+    }
+
+    private static boolean isValidPeriod(BookingDto dto) {
+        return dto.getStart() != null && dto.getEnd() != null && !dto.getStart().isBefore(LocalDateTime.now())
+                && dto.getEnd().isAfter(dto.getStart());
+    }
+
+    /**
+     * Проверка существования пользователя, если бронирований не найдено.
+     * Непустой результат означает, что пользователь существует, и отдельный запрос не нужен
+     *
+     * @param bookings Найденные бронирования
+     * @param userId   Идентификатор пользователя
+     */
+    private void checkUserExists(List<Booking> bookings, Long userId) {
+        if (bookings.isEmpty() && !userRepository.existsById(userId)) {
+            throw new NotFoundException(USER_NOT_FOUND.getValue() + userId);
+        }
+    }
 
+    private List<Booking> find(Long userId, BookingSearchType state, Pageable pageable, boolean isOwner) {
+        return searchTimer(state, isOwner, "offset").record(() -> {
+            if (ALL.equals(state)) {
+                return isOwner ? bookingRepository.findByItemOwnerIdOrderByStartDttmDesc(userId, pageable)
+                        : bookingRepository.findByInitiatorIdOrderByStartDttmDesc(userId, pageable);
+            }
+            return bookingRepository.findAll(BookingPredicates.of(userId, state, isOwner), pageable.getOffset(),
+                    pageable.getPageSize());
+        });
+    }
+
+    /**
+     * Таймер поиска бронирований с разбивкой по статусу, роли пользователя и способу постраничного вывода
+     *
+     * @param state   Статус бронирования
+     * @param isOwner Признак поиска по владельцу вещей
+     * @param paging  Способ постраничного вывода: offset или cursor
+     * @return Таймер
+     */
+    private Timer searchTimer(BookingSearchType state, boolean isOwner, String paging) {
+        return Timer.builder("shareit.booking.search")
+                .description("Поиск бронирований пользователя")
+                .tag("state", state.name())
+                .tag("role", isOwner ? "owner" : "initiator")
+                .tag("paging", paging)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
@@ -14,10 +14,21 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.WITH_ITEM_AND_INITIATOR, attributeNodes = {
+        @NamedAttributeNode("item"),
+        @NamedAttributeNode("initiator")
+})
+@SqlResultSetMapping(name = Booking.WITH_LAST_MARK, entities = @EntityResult(entityClass = Booking.class),
+        columns = @ColumnResult(name = "is_last", type = Boolean.class))
 public class Booking {
 
+    public static final String WITH_ITEM_AND_INITIATOR = "Booking.withItemAndInitiator";
+
+    public static final String WITH_LAST_MARK = "Booking.withLastMark";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "booking_id")
     private Long id;
 
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static ru.practicum.shareit.exception.type.ExceptionType.INVALID_CURSOR;
+
+/**
+ * Позиция в списке бронирований, отсортированном по убыванию даты начала и идентификатора
+ */
+@Value
+public class BookingCursor {
+
+    private static final String DELIMITER = "_";
+
+    LocalDateTime startDttm;
+
+    Long bookingId;
+
+    /**
+     * Преобразование позиции в непрозрачный токен для передачи клиенту
+     *
+     * @return Токен
+     */
+    public String encode() {
+        String raw = startDttm + DELIMITER + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Получение позиции из токена
+     *
+     * @param token Токен
+     * @return Позиция в списке бронирований
+     */
+    public static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int delimiterIdx = raw.lastIndexOf(DELIMITER);
+
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, delimiterIdx)),
+                    Long.parseLong(raw.substring(delimiterIdx + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR.getValue() + token);
+        }
+    }
+}
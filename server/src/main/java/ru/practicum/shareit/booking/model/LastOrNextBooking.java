@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+/**
+ * Последнее или ближайшее одобренное бронирование вещи. Признак вычисляется в запросе
+ * по времени БД, чтобы отбор и разметка бронирований не расходились из-за разницы часов
+ */
+@Value
+public class LastOrNextBooking {
+
+    Booking booking;
+
+    /**
+     * Признак последнего начавшегося бронирования, false - ближайшее предстоящее
+     */
+    boolean last;
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.util.StatementBudgetFilter;
+import ru.practicum.shareit.util.StatementCounter;
+
+import java.time.Duration;
+
+@Configuration
+public class StatementBudgetConfig {
+
+    /**
+     * Счетчик SQL-запросов. Sleuth добавляет его в прокси источника данных вместе со своим слушателем
+     *
+     * @param slowQueryThreshold Время выполнения, начиная с которого запрос считается медленным
+     * @return Счетчик запросов
+     */
+    @Bean
+    public StatementCounter statementCounter(@Value("${shareit.jdbc.slow-query-threshold:200ms}")
+                                             Duration slowQueryThreshold) {
+        return new StatementCounter(slowQueryThreshold);
+    }
+
+    /**
+     * Подсчет SQL-запросов на каждый HTTP-запрос с записью в журнал превышений бюджета
+     *
+     * @param statementCounter Счетчик запросов
+     * @param statementBudget  Допустимое количество запросов
+     * @return Регистрация фильтра
+     */
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            StatementCounter statementCounter, @Value("${shareit.jdbc.statement-budget:10}") int statementBudget) {
+        return new FilterRegistrationBean<>(new StatementBudgetFilter(statementCounter, statementBudget));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Обработка запросов Tomcat в виртуальных потоках, включается профилем virtual-threads.
+ * Требует запуска на JDK 21 и новее; сборка по-прежнему выполняется для Java 11, поэтому исполнитель
+ * создается через reflection. Образ собирается на JDK 21 аргументом JAVA_VERSION=21 (Dockerfile).
+ * Драйвер PostgreSQL закреплен на версии 42.6 и новее: в более ранних версиях соединение защищено synchronized,
+ * и виртуальный поток занимает поток-носитель на все время запроса к базе.
+ * После перехода на Spring Boot 3.2 конфигурация заменяется свойством spring.threads.virtual.enabled=true
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    /**
+     * Замена пула потоков Tomcat исполнителем, создающим виртуальный поток на каждую задачу.
+     * Ограничение server.tomcat.threads.max при этом не действует
+     *
+     * @return Настройка обработчика протокола Tomcat
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Tomcat requests are handled on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or newer, running on "
+                    + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+}
@@ -16,7 +16,8 @@ public enum ExceptionType {
     ALREADY_APPROVED("Бронирование с id %s уже одобрено"),
     BOOKING_BY_OWNER("Владелец вещи не может ее забронировать"),
     WASNT_BOOKED_BY_USER("Пользователь с id = %s не бронировал эту вещь"),
-    ITEM_REQUEST_NOT_FOUND("Не найден запрос вещи с id = ");
+    ITEM_REQUEST_NOT_FOUND("Не найден запрос вещи с id = "),
+    INVALID_CURSOR("Некорректный курсор: ");
 
     private final String value;
 }
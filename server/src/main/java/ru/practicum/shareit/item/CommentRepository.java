@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -14,4 +16,13 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
      * @return Список комментариев
      */
     List<Comment> findByItemId(Long itemId);
+
+    /**
+     * Поиск комментариев вместе с авторами по идентификаторам вещей
+     *
+     * @param itemIds Идентификаторы вещей
+     * @return Список комментариев
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id IN ?1")
+    List<Comment> findByItemIdIn(Collection<Long> itemIds);
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
@@ -44,15 +46,24 @@ public class ItemController {
     }
 
     /**
-     * Получение вещи по идентификатору
+     * Получение вещи по идентификатору.
+     * Последнее и следующее бронирования меняются с течением времени без изменения данных,
+     * поэтому ответ с ними помечается Cache-Control: no-cache и не хранится в кэше gateway
      *
      * @param id      Идентификатор вещи
      * @param ownerId Идентификатор владельца
      * @return Вещь
      */
     @GetMapping("/{id}")
-    public ItemBookingDto getItemById(@PathVariable Long id, @RequestHeader(SHARER_USER_ID) Long ownerId) {
-        return itemService.getItemById(id, ownerId);
+    public ResponseEntity<ItemBookingDto> getItemById(@PathVariable Long id,
+                                                      @RequestHeader(SHARER_USER_ID) Long ownerId) {
+        ItemBookingDto item = itemService.getItemById(id, ownerId);
+        if (item.getLastBooking() == null && item.getNextBooking() == null) {
+            return ResponseEntity.ok(item);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(item);
     }
 
     /**
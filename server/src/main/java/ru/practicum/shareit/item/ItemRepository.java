@@ -2,12 +2,55 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    /**
+     * Проверка существования вещи. Результат хранится в кэше запросов
+     *
+     * @param id Идентификатор вещи
+     * @return Признак существования вещи
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT CASE WHEN COUNT(i) > 0 THEN TRUE ELSE FALSE END FROM Item i WHERE i.id = ?1")
+    boolean existsById(Long id);
+
+    /**
+     * Получение вещи с блокировкой строки до конца транзакции.
+     * Используется для последовательной обработки бронирований одной вещи
+     *
+     * @param itemId Идентификатор вещи
+     * @return Вещь
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    /**
+     * Получение вещей с блокировкой строк до конца транзакции.
+     * Строки блокируются по возрастанию идентификатора, чтобы параллельные пакеты не блокировали друг друга
+     *
+     * @param itemIds Идентификаторы вещей
+     * @return Список вещей
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN ?1 ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(Collection<Long> itemIds);
+
     /**
      * Постраничное получение вещей по идентификатору владельца
      *
@@ -15,18 +58,28 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @param pageable Параметры пагинации
      * @return Список вещей
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Item> getByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
 
     /**
-     * Получение всех вещей, содержащих в названии/описании текст из аргумента метода
+     * Поиск доступных вещей, содержащих в названии/описании текст из аргумента метода.
+     * Сначала возвращаются вещи с точным совпадением названия, затем с названием, начинающимся с текста,
+     * затем с текстом в названии и в конце - с текстом только в описании
      *
-     * @param name        Текст для поиска по названию
-     * @param description Текст для поиска по описанию
-     * @param pageable    Параметры пагинации
+     * @param text     Текст для поиска, в котором символы \, % и _ экранированы обратной косой чертой
+     * @param pageable Параметры пагинации
      * @return Список вещей
      */
-    List<Item> getByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(String name, String description,
-                                                                          Pageable pageable);
+    @Query("SELECT i FROM Item i "
+            + "WHERE i.available = TRUE "
+            + "AND (LOWER(i.name) LIKE CONCAT('%', LOWER(?1), '%') ESCAPE '\\' "
+            + "OR LOWER(i.description) LIKE CONCAT('%', LOWER(?1), '%') ESCAPE '\\') "
+            + "ORDER BY CASE "
+            + "WHEN LOWER(i.name) LIKE LOWER(?1) ESCAPE '\\' THEN 0 "
+            + "WHEN LOWER(i.name) LIKE CONCAT(LOWER(?1), '%') ESCAPE '\\' THEN 1 "
+            + "WHEN LOWER(i.name) LIKE CONCAT('%', LOWER(?1), '%') ESCAPE '\\' THEN 2 "
+            + "ELSE 3 END, i.id")
+    List<Item> searchAvailable(String text, Pageable pageable);
 
     /**
      * Получение всех вещей по идентификатору запроса вещи
@@ -35,4 +88,12 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      * @return Список вещей
      */
     List<Item> getByRequestId(Long requestId);
+
+    /**
+     * Получение всех вещей по идентификаторам запросов вещей
+     *
+     * @param requestIds Идентификаторы запросов вещей
+     * @return Список вещей
+     */
+    List<Item> getByRequestIdIn(Collection<Long> requestIds);
 }
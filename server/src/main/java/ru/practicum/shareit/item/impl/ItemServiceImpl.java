@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -7,6 +8,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.LastOrNextBooking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.CommentRepository;
 import ru.practicum.shareit.item.ItemRepository;
@@ -22,6 +25,7 @@ import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.SecondLevelCacheEvictor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +39,7 @@ import static ru.practicum.shareit.exception.type.ExceptionType.*;
 @Transactional
 @Slf4j
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
@@ -51,11 +56,12 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestRepository itemRequestRepository;
 
+    private final SecondLevelCacheEvictor secondLevelCacheEvictor;
+
     @Override
     public ItemDto createItem(ItemDto dto, Long ownerId) {
-        if (!userRepository.existsById(ownerId)) {
-            throw new NotFoundException(USER_NOT_FOUND.getValue() + ownerId);
-        }
+        User user = userRepository.findById(ownerId)
+                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND.getValue() + ownerId));
         ItemRequest request = null;
         Long requestId = dto.getRequestId();
 
@@ -63,7 +69,6 @@ public class ItemServiceImpl implements ItemService {
             request = itemRequestRepository.findById(requestId)
                     .orElseThrow(() -> new NotFoundException(ITEM_REQUEST_NOT_FOUND.getValue() + requestId));
         }
-        User user = userRepository.findById(ownerId).get();
         Item item = itemMapper.mapToModel(dto, user, request);
 
         log.info("creating new item");
@@ -81,7 +86,9 @@ public class ItemServiceImpl implements ItemService {
         item = itemMapper.mapToModel(item, dto);
 
         log.info("updating itemId = {}", id);
-        return itemMapper.mapToDto(itemRepository.save(item));
+        ItemDto updated = itemMapper.mapToDto(itemRepository.save(item));
+        secondLevelCacheEvictor.evictOnCommit(Item.class, id);
+        return updated;
     }
 
     @Override
@@ -95,10 +102,11 @@ public class ItemServiceImpl implements ItemService {
             if (item.getOwner().getId().equals(userId)) {
                 log.info("item is owned by userId = {}", userId);
                 Long itemId = item.getId();
+                // тот же запрос, что и для списка вещей владельца, чтобы "сейчас" определялось часами БД
+                List<LastOrNextBooking> lastAndNext = bookingRepository.findLastAndNextByItemIdIn(List.of(itemId));
 
                 return itemMapper.mapToItemBookingDto(item, commentRepository.findByItemId(itemId),
-                        bookingRepository.findLastByItemId(itemId).orElse(null),
-                        bookingRepository.findNextByItemId(itemId).orElse(null));
+                        findBooking(lastAndNext, true), findBooking(lastAndNext, false));
             } else {
                 log.info("item is not owned by userId = {}", userId);
                 return itemMapper.mapToItemBookingDto(item, commentRepository.findByItemId(item.getId()));
@@ -110,18 +118,22 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemBookingDto> getItems(Long ownerId, Integer size, Integer from) {
-        if (!userRepository.existsById(ownerId)) {
-            throw new NotFoundException(USER_NOT_FOUND.getValue() + ownerId);
-        }
         log.info("getting all items by ownerId = {}", ownerId);
         int page = from != 0 ? from / size : from;
         Pageable pageable = PageRequest.of(page, size);
 
-        return itemRepository.getByOwnerIdOrderByIdAsc(ownerId, pageable).stream()
-                .map(i -> itemMapper.mapToItemBookingDto(i, commentRepository.findByItemId(i.getId()),
-                        bookingRepository.findLastByItemId(i.getId()).orElse(null),
-                        bookingRepository.findNextByItemId(i.getId()).orElse(null)))
-                .collect(Collectors.toList());
+        List<Item> items = itemRepository.getByOwnerIdOrderByIdAsc(ownerId, pageable);
+
+        if (items.isEmpty()) {
+            if (!userRepository.existsById(ownerId)) {
+                throw new NotFoundException(USER_NOT_FOUND.getValue() + ownerId);
+            }
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+
+        return itemMapper.mapToItemBookingDtos(items, commentRepository.findByItemIdIn(itemIds),
+                bookingRepository.findLastAndNextByItemIdIn(itemIds));
     }
 
     @Override
@@ -134,18 +146,17 @@ public class ItemServiceImpl implements ItemService {
         int page = from != 0 ? from / size : from;
         Pageable pageable = PageRequest.of(page, size);
 
-        return itemRepository.getByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(text, text, pageable).stream()
+        return itemRepository.searchAvailable(escapeLike(text), pageable).stream()
                 .map(itemMapper::mapToDto)
                 .collect(Collectors.toList());
     }
 
     @Override
     public CommentDto createComment(CommentDto dto, Long itemId, Long authorId) {
-        if (bookingRepository.wasItemBookedByUser(itemId, authorId) && itemRepository.existsById(itemId)) {
-            Item item = itemRepository.findById(itemId)
-                    .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND.getValue() + itemId));
-            User user = userRepository.findById(authorId)
-                    .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND.getValue() + authorId));
+        if (bookingRepository.wasItemBookedByUser(itemId, authorId)) {
+            // бронирование ссылается на вещь и автора, поэтому они существуют и загружать их не нужно
+            Item item = itemRepository.getReferenceById(itemId);
+            User user = userRepository.getReferenceById(authorId);
 
             log.info("creating new comment for itemId = {}, authorId = {}", itemId, authorId);
             Comment comment = commentMapper.mapToModel(dto, item, user);
@@ -154,4 +165,24 @@ public class ItemServiceImpl implements ItemService {
         }
         throw new IllegalArgumentException(String.format(WASNT_BOOKED_BY_USER.getValue(), authorId));
     }
+
+    private static Booking findBooking(List<LastOrNextBooking> lastAndNext, boolean last) {
+        return lastAndNext.stream()
+                .filter(booking -> booking.isLast() == last)
+                .map(LastOrNextBooking::getBooking)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Экранирование символов шаблона LIKE, чтобы текст поиска сравнивался буквально
+     *
+     * @param text Текст для поиска
+     * @return Текст, в котором \, % и _ экранированы обратной косой чертой
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
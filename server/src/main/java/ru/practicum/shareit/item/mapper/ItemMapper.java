@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.mapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.LastOrNextBooking;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -10,7 +11,9 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -65,6 +68,27 @@ public class ItemMapper {
                 .build();
     }
 
+    public List<ItemBookingDto> mapToItemBookingDtos(List<Item> items, List<Comment> comments,
+                                                     List<LastOrNextBooking> lastAndNextBookings) {
+        Map<Long, List<Comment>> commentsByItemId = comments.stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
+        Map<Long, Booking> lastByItemId = new HashMap<>();
+        Map<Long, Booking> nextByItemId = new HashMap<>();
+
+        for (LastOrNextBooking lastOrNext : lastAndNextBookings) {
+            Booking booking = lastOrNext.getBooking();
+            if (lastOrNext.isLast()) {
+                lastByItemId.put(booking.getItem().getId(), booking);
+            } else {
+                nextByItemId.put(booking.getItem().getId(), booking);
+            }
+        }
+        return items.stream()
+                .map(i -> mapToItemBookingDto(i, commentsByItemId.getOrDefault(i.getId(), List.of()),
+                        lastByItemId.get(i.getId()), nextByItemId.get(i.getId())))
+                .collect(Collectors.toList());
+    }
+
     public ItemBookingDto mapToItemBookingDto(Item item, List<Comment> comments) {
         return ItemBookingDto.builder()
                 .id(item.getId())
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -15,8 +16,11 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.exception.type.ExceptionType.ITEM_REQUEST_NOT_FOUND;
@@ -26,6 +30,7 @@ import static ru.practicum.shareit.exception.type.ExceptionType.USER_NOT_FOUND;
 @Transactional
 @Slf4j
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
@@ -38,10 +43,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestDto createItemRequest(Long userId, ItemRequestDto dto) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException(USER_NOT_FOUND.getValue() + userId);
-        }
-        ItemRequest itemRequest = itemRequestMapper.mapToModel(dto, userRepository.findById(userId).get());
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND.getValue() + userId));
+        ItemRequest itemRequest = itemRequestMapper.mapToModel(dto, user);
 
         log.info("creating new item request");
 
@@ -51,10 +55,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestDto> getItemRequestsByUserId(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        List<ItemRequest> itemRequests = itemRequestRepository.findByUserId(userId);
+
+        if (itemRequests.isEmpty() && !userRepository.existsById(userId)) {
             throw new NotFoundException(USER_NOT_FOUND.getValue() + userId);
         }
-        List<ItemRequest> itemRequests = itemRequestRepository.findByUserId(userId);
 
         log.info("found {} item requests", itemRequests.size());
         return mapToDtos(itemRequests);
@@ -84,18 +89,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         log.info("getting item request by id = {}", requestId);
         List<Item> items = itemRepository.getByRequestId(requestId);
 
-        log.info("itemRequestId = {} has {} items", request, items.size());
+        log.info("itemRequestId = {} has {} items", requestId, items.size());
         return itemRequestMapper.mapToDto(request, items);
     }
 
     private List<ItemRequestDto> mapToDtos(List<ItemRequest> requests) {
-        return requests.stream().map(req -> {
-                    Long reqId = req.getId();
-                    List<Item> items = itemRepository.getByRequestId(reqId);
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.getByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(i -> i.getRequest().getId()));
 
-                    log.info("itemRequestId = {} has {} items", reqId, items.size());
-                    return itemRequestMapper.mapToDto(req, items);
-                })
+        log.info("{} of {} item requests have items", itemsByRequestId.size(), requests.size());
+        return requests.stream()
+                .map(req -> itemRequestMapper.mapToDto(req, itemsByRequestId.getOrDefault(req.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 }
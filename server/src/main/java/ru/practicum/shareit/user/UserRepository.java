@@ -1,8 +1,35 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Проверка существования пользователя. Результат хранится в кэше запросов
+     *
+     * @param id Идентификатор пользователя
+     * @return Признак существования пользователя
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN TRUE ELSE FALSE END FROM User u WHERE u.id = ?1")
+    boolean existsById(Long id);
+
+    /**
+     * Получение всех пользователей. Результат хранится в кэше запросов
+     *
+     * @return Список пользователей
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<User> findAll();
 }
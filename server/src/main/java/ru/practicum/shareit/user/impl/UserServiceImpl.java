@@ -1,15 +1,18 @@
 package ru.practicum.shareit.user.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.SecondLevelCacheEvictor;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,12 +24,15 @@ import static ru.practicum.shareit.exception.type.ExceptionType.USER_NOT_FOUND;
 @Transactional
 @Slf4j
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
     private final UserMapper userMapper;
 
+    private final SecondLevelCacheEvictor secondLevelCacheEvictor;
+
     @Override
     public UserDto createUser(UserDto dto) {
         User user = userMapper.mapToModel(dto);
@@ -43,7 +49,9 @@ public class UserServiceImpl implements UserService {
         user.setName(dto.getName() != null ? dto.getName() : user.getName());
         user.setEmail(dto.getEmail() != null ? dto.getEmail() : user.getEmail());
         log.info("updating userId = {}", id);
-        return userMapper.mapToDto(userRepository.save(user));
+        UserDto updated = userMapper.mapToDto(userRepository.save(user));
+        secondLevelCacheEvictor.evictOnCommit(User.class, id);
+        return updated;
     }
 
     @Override
@@ -65,6 +73,8 @@ public class UserServiceImpl implements UserService {
         }
         log.info("deleting user by id = {}", id);
         userRepository.deleteById(id);
+        // вещи пользователя удаляются каскадно в БД, минуя Hibernate
+        secondLevelCacheEvictor.evictAllOnCommit(User.class, Item.class);
     }
 
     @Override
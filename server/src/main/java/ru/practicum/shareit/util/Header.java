@@ -8,4 +8,6 @@ public final class Header {
 
     public static final String SHARER_USER_ID = "X-Sharer-User-Id";
 
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
 }
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.util;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+import java.io.Serializable;
+
+/**
+ * Сброс кэша второго уровня Hibernate после коммита транзакции.
+ * Нужен для изменений, о которых Hibernate не знает, например каскадного удаления в БД
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Удаление сущности из кэша после коммита текущей транзакции
+     *
+     * @param entityClass Класс сущности
+     * @param id          Идентификатор сущности
+     */
+    public void evictOnCommit(Class<?> entityClass, Serializable id) {
+        afterCommit(() -> cache.evictEntityData(entityClass, id));
+    }
+
+    /**
+     * Удаление всех сущностей указанных классов и результатов запросов из кэша после коммита текущей транзакции
+     *
+     * @param entityClasses Классы сущностей
+     */
+    public void evictAllOnCommit(Class<?>... entityClasses) {
+        afterCommit(() -> {
+            for (Class<?> entityClass : entityClasses) {
+                cache.evictEntityData(entityClass);
+            }
+            cache.evictQueryRegions();
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
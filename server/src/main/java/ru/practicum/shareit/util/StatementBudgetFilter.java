@@ -0,0 +1,46 @@
+package ru.practicum.shareit.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Бюджет SQL-запросов на HTTP-запрос. Запросы, превысившие бюджет, пишутся в журнал вместе с текстом SQL,
+ * что позволяет заметить N+1 до того, как он станет заметен по времени ответа
+ */
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final StatementCounter statementCounter;
+
+    private final int statementBudget;
+
+    public StatementBudgetFilter(StatementCounter statementCounter, int statementBudget) {
+        this.statementCounter = statementCounter;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.Statements statements = statementCounter.stop();
+            if (statements.getCount() > statementBudget) {
+                log.warn("{} {} executed {} statements in {} ms, budget is {}: {}", request.getMethod(),
+                        request.getRequestURI(), statements.getCount(), statements.getElapsedMillis(), statementBudget,
+                        statements.getQueries());
+            } else {
+                log.debug("{} {} executed {} statements in {} ms", request.getMethod(), request.getRequestURI(),
+                        statements.getCount(), statements.getElapsedMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Подсчет выполненных SQL-запросов и времени их выполнения в текущем потоке.
+ * Подключается к прокси источника данных, который создает Sleuth, и сообщает о медленных запросах
+ */
+@Slf4j
+public class StatementCounter implements QueryExecutionListener {
+
+    /**
+     * Количество запросов, текст которых сохраняется для журнала
+     */
+    private static final int MAX_RECORDED_QUERIES = 50;
+
+    private static final ThreadLocal<Statements> CURRENT = new ThreadLocal<>();
+
+    private final long slowQueryThresholdMillis;
+
+    public StatementCounter(Duration slowQueryThreshold) {
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+    }
+
+    /**
+     * Начало подсчета запросов в текущем потоке
+     *
+     * @return Счетчик запросов
+     */
+    public Statements start() {
+        Statements statements = new Statements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    /**
+     * Окончание подсчета запросов в текущем потоке
+     *
+     * @return Счетчик запросов
+     */
+    public Statements stop() {
+        Statements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+        if (execInfo.isBatch()) {
+            sql = sql + " [batch of " + execInfo.getBatchSize() + "]";
+        }
+        if (execInfo.getElapsedTime() >= slowQueryThresholdMillis) {
+            log.warn("slow query took {} ms: {}", execInfo.getElapsedTime(), sql);
+        }
+        Statements statements = CURRENT.get();
+        if (statements != null) {
+            statements.add(sql, execInfo.getElapsedTime());
+        }
+    }
+
+    @Getter
+    public static class Statements {
+
+        private int count;
+
+        private long elapsedMillis;
+
+        private final List<String> queries = new ArrayList<>();
+
+        private void add(String sql, long elapsed) {
+            count++;
+            elapsedMillis += elapsed;
+            if (queries.size() < MAX_RECORDED_QUERIES) {
+                queries.add(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_dttm);
+CREATE INDEX IF NOT EXISTS bookings_initiator_start_idx ON bookings (initiator_id, start_dttm DESC);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id);
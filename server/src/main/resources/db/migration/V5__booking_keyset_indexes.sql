@@ -0,0 +1,2 @@
+DROP INDEX IF EXISTS bookings_initiator_start_idx;
+CREATE INDEX IF NOT EXISTS bookings_initiator_start_id_idx ON bookings (initiator_id, start_dttm DESC, booking_id DESC);
@@ -0,0 +1,34 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Заполнение пустой базы H2 данными для нагрузочных тестов и JMH-бенчмарков.
+ * Вещи распределены по владельцам, бронирования и комментарии - по вещам равномерно;
+ * бронирования занимают интервал по обе стороны от текущего момента
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LoadTestData {
+
+    public static void seed(JdbcTemplate jdbcTemplate, int users, int items, int bookings, int comments) {
+        // идентификаторы задаются явно: значения последовательностей по умолчанию идут с шагом 50
+        jdbcTemplate.update("INSERT INTO users (user_id, name, email) "
+                + "SELECT X, CONCAT('user', X), CONCAT('user', X, '@test.com') FROM SYSTEM_RANGE(1, " + users + ")");
+        jdbcTemplate.update("INSERT INTO items (item_id, owner_id, name, description, available) "
+                + "SELECT X, MOD(X - 1, " + users + ") + 1, CONCAT('item', X), CONCAT('description of item', X), TRUE "
+                + "FROM SYSTEM_RANGE(1, " + items + ")");
+        jdbcTemplate.update("INSERT INTO bookings (item_id, initiator_id, start_dttm, end_dttm, status) "
+                + "SELECT MOD(X - 1, " + items + ") + 1, MOD(X * 7, " + users + ") + 1, "
+                + "DATEADD(HOUR, X / 10 - " + bookings / 20 + ", CURRENT_TIMESTAMP), "
+                + "DATEADD(HOUR, X / 10 - " + bookings / 20 + " + 2, CURRENT_TIMESTAMP), "
+                + "CASE MOD(X, 4) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'REJECTED' ELSE 'APPROVED' END "
+                + "FROM SYSTEM_RANGE(1, " + bookings + ")");
+        if (comments > 0) {
+            jdbcTemplate.update("INSERT INTO comments (text, item_id, author_id, create_dttm) "
+                    + "SELECT CONCAT('comment', X), MOD(X - 1, " + items + ") + 1, MOD(X * 3, " + users + ") + 1, "
+                    + "CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + comments + ")");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.booking.model.type.BookingSearchType.ALL;
+import static ru.practicum.shareit.booking.model.type.BookingSearchType.FUTURE;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class MetricsTest {
+
+    private final MockMvc mvc;
+
+    private final UserService userService;
+
+    private final BookingService bookingService;
+
+    private final UserRepository userRepository;
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void prometheusExposesServiceRepositoryPoolAndHibernateMetrics() throws Exception {
+        UserDto user = userService.createUser(UserDto.builder()
+                .name("Ivan")
+                .email("ivan@test.com")
+                .build());
+        bookingService.getBookingsByUserId(ALL, user.getId(), 10, 0);
+        bookingService.getBookingsByItemOwner(FUTURE, user.getId(), 10, 0);
+
+        String body = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertTrue(body.contains("shareit_service_seconds_bucket{"));
+        assertTrue(body.contains("method=\"createUser\""));
+        assertTrue(body.contains("shareit_booking_search_seconds_bucket{"));
+        assertTrue(body.contains("paging=\"offset\",role=\"initiator\",state=\"ALL\""));
+        assertTrue(body.contains("paging=\"offset\",role=\"owner\",state=\"FUTURE\""));
+        assertTrue(body.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(body.contains("hikaricp_connections_active"));
+        assertTrue(body.contains("hibernate_statements_total"));
+    }
+}
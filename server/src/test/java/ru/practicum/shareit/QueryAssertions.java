@@ -0,0 +1,54 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+import ru.practicum.shareit.util.StatementCounter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class QueryAssertions {
+
+    /**
+     * Проверка количества обращений к репозиториям-заглушкам. Каждое обращение к репозиторию
+     * выполняет хотя бы один SQL-запрос, поэтому обращение в цикле по результатам сразу превышает лимит
+     *
+     * @param max          Допустимое количество обращений
+     * @param repositories Репозитории-заглушки
+     */
+    public static void assertMaxQueries(int max, Object... repositories) {
+        List<String> invocations = Arrays.stream(repositories)
+                .flatMap(repository -> Mockito.mockingDetails(repository).getInvocations().stream())
+                .map(Invocation::toString)
+                .collect(Collectors.toList());
+
+        assertTrue(invocations.size() <= max,
+                () -> "expected at most " + max + " queries, but was " + invocations.size() + ": " + invocations);
+    }
+
+    /**
+     * Проверка количества SQL-запросов, выполненных действием
+     *
+     * @param max              Допустимое количество запросов
+     * @param statementCounter Счетчик запросов
+     * @param action           Действие
+     */
+    public static void assertMaxQueries(int max, StatementCounter statementCounter, Runnable action) {
+        statementCounter.start();
+        StatementCounter.Statements statements;
+        try {
+            action.run();
+        } finally {
+            statements = statementCounter.stop();
+        }
+
+        assertTrue(statements.getCount() <= max, () -> "expected at most " + max + " queries, but was "
+                + statements.getCount() + ": " + statements.getQueries());
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.model.type.BookingStatus.WAITING;
+
+/**
+ * Миграции применяются с настройками профиля prod, а не test: базовые настройки
+ * application.properties не должны зависеть от тестового профиля
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:migration")
+@ActiveProfiles("prod")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SchemaMigrationTest {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Environment environment;
+
+    private final UserRepository userRepository;
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final CommentRepository commentRepository;
+
+    @Test
+    public void baseSettingsApplyWithoutTestProfile() {
+        assertEquals("true", environment.getProperty("spring.flyway.baseline-on-migrate"));
+        assertEquals("classpath:db/migration,classpath:db/vendor/{vendor}",
+                environment.getProperty("spring.flyway.locations"));
+        assertEquals("50", environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size"));
+        assertEquals("health,metrics,prometheus", environment.getProperty("management.endpoints.web.exposure.include"));
+    }
+
+    @Test
+    public void migrationsCreateBookingIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE TABLE_NAME = 'BOOKINGS'", String.class);
+
+        assertTrue(indexes.contains("bookings_item_status_start_idx"));
+        assertTrue(indexes.contains("bookings_initiator_start_id_idx"));
+        assertTrue(indexes.contains("bookings_approved_item_start_idx"));
+    }
+
+    @Test
+    public void migrationsCreatePooledSequences() {
+        List<String> sequences = jdbcTemplate.queryForList("SELECT LOWER(SEQUENCE_NAME) "
+                + "FROM INFORMATION_SCHEMA.SEQUENCES WHERE INCREMENT = 50", String.class);
+
+        assertTrue(sequences.containsAll(List.of("users_seq", "requests_seq", "items_seq", "bookings_seq",
+                "comments_seq")));
+    }
+
+    @Test
+    @Transactional
+    public void entitiesGetIdsFromPooledSequences() {
+        User owner = userRepository.save(User.builder()
+                .name("Ivan")
+                .email("ivan@test.com")
+                .build());
+        User booker = userRepository.save(User.builder()
+                .name("Petr")
+                .email("petr@test.com")
+                .build());
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .user(booker)
+                .description("Need a camera")
+                .createDttm(LocalDateTime.now())
+                .build());
+        Item item = itemRepository.save(Item.builder()
+                .owner(owner)
+                .name("Camera")
+                .description("Analog camera")
+                .available(true)
+                .request(request)
+                .build());
+        Booking booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .initiator(booker)
+                .startDttm(LocalDateTime.now().plusDays(1))
+                .endDttm(LocalDateTime.now().plusDays(2))
+                .status(WAITING)
+                .build());
+        Comment comment = commentRepository.save(Comment.builder()
+                .item(item)
+                .author(booker)
+                .text("Nice")
+                .createDttm(LocalDateTime.now())
+                .build());
+        userRepository.flush();
+
+        assertNotNull(owner.getId());
+        assertEquals(owner.getId() + 1, booker.getId());
+        assertNotNull(request.getId());
+        assertNotNull(item.getId());
+        assertNotNull(booking.getId());
+        assertNotNull(comment.getId());
+    }
+}
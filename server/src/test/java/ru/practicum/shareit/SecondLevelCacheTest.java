@@ -0,0 +1,105 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:cache")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SecondLevelCacheTest {
+
+    private final UserService userService;
+
+    private final ItemService itemService;
+
+    private final UserRepository userRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private UserDto user;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userService.createUser(UserDto.builder()
+                .name("Ivan")
+                .email("ivan@test.com")
+                .build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void existsByIdIsServedFromQueryCache() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(userRepository.existsById(user.getId()));
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    public void getUserByIdIsServedFromEntityCache() {
+        userService.getUserById(user.getId());
+        statistics.clear();
+
+        userService.getUserById(user.getId());
+        userService.getUserById(user.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    public void updateUserIsVisibleThroughCache() {
+        userService.getUserById(user.getId());
+
+        userService.updateUser(user.getId(), UserDto.builder()
+                .name("Ivan Ivanov")
+                .build());
+
+        assertEquals("Ivan Ivanov", userService.getUserById(user.getId()).getName());
+    }
+
+    @Test
+    public void deleteUserByIdEvictsItemsDeletedByCascade() {
+        ItemDto item = itemService.createItem(ItemDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build(), user.getId());
+        assertTrue(itemRepository.findById(item.getId()).isPresent());
+        assertTrue(itemRepository.existsById(item.getId()));
+
+        userService.deleteUserById(user.getId());
+
+        assertFalse(userRepository.existsById(user.getId()));
+        assertFalse(itemRepository.existsById(item.getId()));
+        assertTrue(itemRepository.findById(item.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,319 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.type.BookingSearchType;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.StatementCounter;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.QueryAssertions.assertMaxQueries;
+import static ru.practicum.shareit.booking.model.type.BookingSearchType.ALL;
+import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class StatementCountTest {
+
+    private final UserService userService;
+
+    private final ItemService itemService;
+
+    private final ItemRequestService itemRequestService;
+
+    private final BookingService bookingService;
+
+    private final UserRepository userRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final StatementCounter statementCounter;
+
+    private Statistics statistics;
+
+    private UserDto owner;
+
+    private UserDto booker;
+
+    private ItemDto item;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userService.createUser(UserDto.builder()
+                .name("Ivan")
+                .email("ivan@test.com")
+                .build());
+        booker = userService.createUser(UserDto.builder()
+                .name("Arkadiy")
+                .email("arkadiy@test.com")
+                .build());
+        item = itemService.createItem(ItemDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build(), owner.getId());
+        bookingRepository.save(Booking.builder()
+                .item(itemRepository.findById(item.getId()).orElseThrow())
+                .initiator(userRepository.findById(booker.getId()).orElseThrow())
+                .startDttm(LocalDateTime.now().minusDays(2))
+                .endDttm(LocalDateTime.now().minusDays(1))
+                .status(APPROVED)
+                .build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void createItemLoadsOwnerOnce() {
+        itemService.createItem(ItemDto.builder()
+                .name("Saw")
+                .description("Circular saw")
+                .available(true)
+                .build(), owner.getId());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void createItemRequestLoadsUserOnce() {
+        // первое обращение выделяет диапазон идентификаторов из последовательности
+        itemRequestService.createItemRequest(booker.getId(), ItemRequestDto.builder()
+                .description("Need a drill")
+                .build());
+        statistics.clear();
+
+        itemRequestService.createItemRequest(booker.getId(), ItemRequestDto.builder()
+                .description("Need a saw")
+                .build());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void createCommentDoesNotLoadItem() {
+        // первое обращение выделяет диапазон идентификаторов из последовательности
+        itemService.createComment(CommentDto.builder()
+                .text("Nice")
+                .build(), item.getId(), booker.getId());
+        statistics.clear();
+
+        CommentDto comment = itemService.createComment(CommentDto.builder()
+                .text("Works fine")
+                .build(), item.getId(), booker.getId());
+
+        assertEquals("Arkadiy", comment.getAuthorName());
+        assertEquals(item.getId(), comment.getItemId());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getBookingsByUserIdSkipsUserCheckWhenBookingsFound() {
+        assertEquals(1, bookingService.getBookingsByUserId(ALL, booker.getId(), 10, 0).size());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getBookingsByUserIdChecksUserWhenNoBookingsFound() {
+        assertTrue(bookingService.getBookingsByUserId(ALL, owner.getId(), 10, 0).isEmpty());
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingsByUserId(ALL, -1L, 10, 0));
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingSearchType.class, names = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public void getBookingsOfUnknownUserThrowsNotFoundInEveryState(BookingSearchType state) {
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingsByUserId(state, -1L, 10, 0));
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingsByUserIdAfter(state, -1L, 10, null));
+    }
+
+    @Test
+    public void createAllBatchesInserts() {
+        List<BookingDto> dtos = IntStream.range(0, 20)
+                .mapToObj(i -> BookingDto.builder()
+                        .itemId(item.getId())
+                        .start(LocalDateTime.now().plusDays(i + 1))
+                        .end(LocalDateTime.now().plusDays(i + 1).plusHours(1))
+                        .build())
+                .collect(Collectors.toList());
+
+        List<BookingBatchResultDto> results = bookingService.createAll(dtos, booker.getId());
+
+        // пользователь, вещи, пересечения и одна пакетная вставка
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertTrue(results.stream().allMatch(result -> result.getBooking() != null));
+        assertEquals(21, bookingRepository.count());
+    }
+
+    @Test
+    public void createAllLoadsOnlyBookingsOverlappingRequestedPeriods() {
+        for (int day : new int[]{10, 50, 90}) {
+            bookingRepository.save(Booking.builder()
+                    .item(itemRepository.findById(item.getId()).orElseThrow())
+                    .initiator(userRepository.findById(booker.getId()).orElseThrow())
+                    .startDttm(LocalDateTime.now().plusDays(day))
+                    .endDttm(LocalDateTime.now().plusDays(day + 1))
+                    .status(APPROVED)
+                    .build());
+        }
+        List<BookingDto> dtos = List.of(
+                BookingDto.builder()
+                        .itemId(item.getId())
+                        .start(LocalDateTime.now().plusDays(20))
+                        .end(LocalDateTime.now().plusDays(22))
+                        .build(),
+                BookingDto.builder()
+                        .itemId(item.getId())
+                        .start(LocalDateTime.now().plusDays(89))
+                        .end(LocalDateTime.now().plusDays(95))
+                        .build());
+        statistics.clear();
+
+        List<BookingBatchResultDto> results = bookingService.createAll(dtos, booker.getId());
+
+        // общий период пакета покрывает бронирование через 50 дней, но ни один запрос с ним не пересекается
+        assertEquals(1, statistics.getEntityStatistics(Booking.class.getName()).getLoadCount());
+        assertNotNull(results.get(0).getBooking());
+        assertEquals("Некорректно выбран период бронирования", results.get(1).getError());
+    }
+
+    @Test
+    public void changeStatusAllUpdatesWithOneStatement() {
+        List<Long> bookingIds = bookingService.createAll(IntStream.range(0, 20)
+                        .mapToObj(i -> BookingDto.builder()
+                                .itemId(item.getId())
+                                .start(LocalDateTime.now().plusDays(i + 1))
+                                .end(LocalDateTime.now().plusDays(i + 1).plusHours(1))
+                                .build())
+                        .collect(Collectors.toList()), booker.getId()).stream()
+                .map(result -> result.getBooking().getId())
+                .collect(Collectors.toList());
+        statistics.clear();
+
+        List<BookingBatchResultDto> results = bookingService.changeStatusAll(bookingIds, true, owner.getId());
+
+        // вещи бронирований, блокировка вещей, бронирования, пересечения и одно обновление
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertTrue(results.stream().allMatch(result -> result.getBooking().getStatus() == APPROVED));
+        assertEquals(21, bookingRepository.findAll().stream().filter(b -> b.getStatus() == APPROVED).count());
+    }
+
+    @Test
+    public void saveAllBatchesInserts() {
+        userRepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> User.builder()
+                        .name("user" + i)
+                        .email("user" + i + "@test.com")
+                        .build())
+                .collect(Collectors.toList()));
+
+        // две пачки по 50 строк и не более трех обращений к последовательности
+        assertTrue(statistics.getPrepareStatementCount() <= 5);
+        assertEquals(102, userRepository.count());
+    }
+
+    @Test
+    public void getItemsSkipsOwnerCheckWhenItemsFound() {
+        assertEquals(1, itemService.getItems(owner.getId(), 10, 0).size());
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getItemsDoesNotQueryPerItem() {
+        IntStream.range(0, 5).forEach(i -> itemService.createItem(ItemDto.builder()
+                .name("Item " + i)
+                .description("Item " + i)
+                .available(true)
+                .build(), owner.getId()));
+        itemService.createComment(CommentDto.builder()
+                .text("Nice")
+                .build(), item.getId(), booker.getId());
+
+        assertMaxQueries(3, statementCounter, () -> assertEquals(6, itemService.getItems(owner.getId(), 10, 0).size()));
+    }
+
+    @Test
+    public void getItemRequestsDoesNotQueryPerRequest() {
+        IntStream.range(0, 5).forEach(i -> itemRequestService.createItemRequest(booker.getId(),
+                ItemRequestDto.builder()
+                        .description("Request " + i)
+                        .build()));
+
+        assertMaxQueries(3, statementCounter,
+                () -> assertEquals(5, itemRequestService.getItemRequestsOfOtherUsers(owner.getId(), 10, 0).size()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    public void pageOfOtherUsersRequestsWithItemsCostsThreeStatements(int size) {
+        IntStream.range(0, 20).forEach(i -> {
+            ItemRequestDto request = itemRequestService.createItemRequest(booker.getId(), ItemRequestDto.builder()
+                    .description("Request " + i)
+                    .build());
+            itemService.createItem(ItemDto.builder()
+                    .name("Item " + i)
+                    .description("Item for request " + i)
+                    .available(true)
+                    .requestId(request.getId())
+                    .build(), owner.getId());
+        });
+        statistics.clear();
+
+        List<ItemRequestDto> requests = itemRequestService.getItemRequestsOfOtherUsers(owner.getId(), size, 0);
+
+        // проверка пользователя, страница запросов и вещи всех запросов страницы
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(size, requests.size());
+        assertTrue(requests.stream().allMatch(request -> request.getItems().size() == 1));
+    }
+}
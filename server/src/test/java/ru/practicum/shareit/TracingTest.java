@@ -0,0 +1,112 @@
+package ru.practicum.shareit;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Header.SHARER_USER_ID;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing",
+        "spring.sleuth.sampler.probability=1.0"
+})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TracingTest {
+
+    private static final String TRACE_ID = "463ac35c9f6413ad48485a3953bb6124";
+
+    private final MockMvc mvc;
+
+    private final UserService userService;
+
+    private final UserRepository userRepository;
+
+    private final InMemorySpanHandler spanHandler;
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void requestSpansContinueIncomingTrace() throws Exception {
+        UserDto owner = userService.createUser(UserDto.builder()
+                .name("Ivan")
+                .email("ivan@test.com")
+                .build());
+        spanHandler.spans.clear();
+
+        mvc.perform(get("/bookings/owner?from=0&size=10")
+                        .header(SHARER_USER_ID, owner.getId())
+                        .header("b3", TRACE_ID + "-a2fb4a1d1a96d312-1"))
+                .andExpect(status().isOk());
+
+        List<MutableSpan> spans = spanHandler.spans.stream()
+                .filter(span -> TRACE_ID.equals(span.traceId()))
+                .collect(Collectors.toList());
+        Map<String, MutableSpan> byId = spans.stream()
+                .collect(Collectors.toMap(MutableSpan::id, Function.identity()));
+        MutableSpan service = spans.stream()
+                .filter(span -> "BookingServiceImpl.getBookingsByItemOwner".equals(span.name()))
+                .findFirst()
+                .orElseThrow();
+        List<MutableSpan> queries = spans.stream()
+                .filter(span -> span.tag("jdbc.query") != null)
+                .collect(Collectors.toList());
+
+        assertTrue(spans.stream().anyMatch(span -> "a2fb4a1d1a96d312".equals(span.parentId())));
+        assertFalse(queries.isEmpty());
+        assertTrue(queries.stream().allMatch(query -> hasAncestor(query, service, byId)));
+    }
+
+    private static boolean hasAncestor(MutableSpan span, MutableSpan ancestor, Map<String, MutableSpan> byId) {
+        for (MutableSpan parent = byId.get(span.parentId()); parent != null; parent = byId.get(parent.parentId())) {
+            if (parent == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        public InMemorySpanHandler inMemorySpanHandler() {
+            return new InMemorySpanHandler();
+        }
+    }
+
+    static class InMemorySpanHandler extends SpanHandler {
+
+        private final List<MutableSpan> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+            spans.add(span);
+            return true;
+        }
+    }
+}
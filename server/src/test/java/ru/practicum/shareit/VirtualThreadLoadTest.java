@@ -0,0 +1,137 @@
+package ru.practicum.shareit;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static ru.practicum.shareit.util.Header.SHARER_USER_ID;
+
+/**
+ * Пропускная способность и p99 запросов бронирований владельца при обработке в потоках платформы
+ * и в виртуальных потоках. В обоих режимах пул Hikari ограничен 20 соединениями, поэтому виртуальные потоки
+ * не должны ускорять обработку, но и не должны уступать потокам платформы более чем на 20%.
+ * Запуск: mvn -pl server test -Pbenchmark, сравнение режимов выполняется только на JDK 21 и новее
+ */
+@Tag("benchmark")
+@Slf4j
+public class VirtualThreadLoadTest {
+
+    private static final int USERS = 1_000;
+
+    private static final int ITEMS = 1_000;
+
+    private static final int BOOKINGS = 5_000;
+
+    private static final int CLIENTS = 100;
+
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    private static final double MIN_VIRTUAL_TO_PLATFORM_THROUGHPUT = 0.8;
+
+    @Test
+    public void platformThreads() throws Exception {
+        Result platform = run("platform", "ci");
+
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, platform.getRequests());
+    }
+
+    @Test
+    public void virtualThreadsKeepUpWithPlatformThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require JDK 21 or newer");
+
+        Result platform = run("platform", "ci");
+        Result virtual = run("virtual", "ci", "virtual-threads");
+
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, virtual.getRequests());
+        assertTrue(virtual.getThroughput() >= platform.getThroughput() * MIN_VIRTUAL_TO_PLATFORM_THROUGHPUT,
+                () -> "virtual threads: " + virtual + ", platform threads: " + platform);
+    }
+
+    private Result run(String mode, String... profiles) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + mode + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--logging.level.ru.practicum.shareit.booking=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        ExecutorService responses = Executors.newFixedThreadPool(4);
+        try {
+            LoadTestData.seed(context.getBean(JdbcTemplate.class), USERS, ITEMS, BOOKINGS, 0);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(responses)
+                    .build();
+
+            long startedAt = System.nanoTime();
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> sendRequests(client, port)));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> result : results) {
+                latencies.addAll(result.get());
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+            Collections.sort(latencies);
+            long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+            Result result = new Result(latencies.size(), elapsed.toMillis(),
+                    latencies.size() * 1000L / Math.max(1, elapsed.toMillis()), p99);
+            log.info("{} threads: {}", mode, result);
+            return result;
+        } finally {
+            clients.shutdownNow();
+            responses.shutdownNow();
+            context.close();
+        }
+    }
+
+    private static List<Long> sendRequests(HttpClient client, int port) throws Exception {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+            long ownerId = ThreadLocalRandom.current().nextLong(USERS) + 1;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/bookings/owner?state=ALL&from=0&size=20"))
+                    .header(SHARER_USER_ID, String.valueOf(ownerId))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            long startedAt = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+            latencies.add(Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        }
+        return latencies;
+    }
+
+    @Value
+    private static class Result {
+        int requests;
+        long elapsedMillis;
+        long throughput;
+        long p99Millis;
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.type.BookingStatus.WAITING;
+
+/**
+ * Параллельное одобрение 2 000 пересекающихся бронирований одной вещи в 16 потоках.
+ * Запуск: mvn -pl server test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:concurrency;LOCK_TIMEOUT=60000")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingConcurrencyTest {
+
+    private static final int BOOKINGS = 2000;
+
+    private static final int THREADS = 16;
+
+    private final BookingService bookingService;
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final UserRepository userRepository;
+
+    private User owner;
+
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Ivan")
+                .email("ivan@test.com")
+                .build());
+        User initiator = userRepository.save(User.builder()
+                .name("Arkadiy")
+                .email("arkadiy@test.com")
+                .build());
+        item = itemRepository.save(Item.builder()
+                .owner(owner)
+                .name("Camera")
+                .description("Analog camera")
+                .available(true)
+                .build());
+
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(24 * 60));
+            bookings.add(Booking.builder()
+                    .item(item)
+                    .initiator(initiator)
+                    .startDttm(start)
+                    .endDttm(start.plusHours(1 + random.nextInt(72)))
+                    .status(WAITING)
+                    .build());
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void concurrentApprovalsNeverProduceOverlappingBookings() throws Exception {
+        AtomicInteger rejectedByConflict = new AtomicInteger();
+        List<Callable<Void>> approvals = bookingRepository.findAll().stream()
+                .map(booking -> (Callable<Void>) () -> {
+                    try {
+                        bookingService.changeStatus(booking.getId(), true, owner.getId());
+                    } catch (NotFoundException | UnsupportedOperationException e) {
+                        rejectedByConflict.incrementAndGet();
+                    }
+                    return null;
+                })
+                .collect(Collectors.toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(approvals)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(b -> APPROVED.equals(b.getStatus()))
+                .sorted(Comparator.comparing(Booking::getStartDttm))
+                .collect(Collectors.toList());
+        assertFalse(approved.isEmpty());
+        assertEquals(BOOKINGS, approved.size() + rejectedByConflict.get());
+        for (int i = 1; i < approved.size(); i++) {
+            Booking previous = approved.get(i - 1);
+            Booking current = approved.get(i);
+            assertTrue(current.getStartDttm().isAfter(previous.getEndDttm()),
+                    "bookings " + previous.getId() + " and " + current.getId() + " overlap");
+        }
+    }
+
+    @Test
+    public void concurrentCreationsAgainstApprovedBookingAreAllRejected() throws Exception {
+        Booking first = bookingRepository.findAll().get(0);
+        bookingService.changeStatus(first.getId(), true, owner.getId());
+        User booker = userRepository.save(User.builder()
+                .name("Petr")
+                .email("petr@test.com")
+                .build());
+        AtomicInteger rejected = new AtomicInteger();
+        List<Callable<Void>> creations = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS / 4; i++) {
+            creations.add(() -> {
+                try {
+                    bookingService.create(BookingDto.builder()
+                            .itemId(item.getId())
+                            .start(first.getStartDttm())
+                            .end(first.getEndDttm())
+                            .build(), booker.getId());
+                } catch (NotFoundException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : executor.invokeAll(creations)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+
+        assertEquals(BOOKINGS / 4, rejected.get());
+    }
+}
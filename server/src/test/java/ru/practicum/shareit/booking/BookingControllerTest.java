@@ -8,10 +8,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.exception.BookingPeriodException;
 import ru.practicum.shareit.exception.NotFoundException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,9 +24,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.booking.model.type.BookingSearchType.ALL;
 import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
+import static ru.practicum.shareit.util.Header.NEXT_CURSOR;
 import static ru.practicum.shareit.util.Header.SHARER_USER_ID;
 
 @WebMvcTest(BookingController.class)
@@ -95,6 +100,68 @@ public class BookingControllerTest {
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof NotFoundException));
     }
 
+    @Test
+    @SneakyThrows
+    public void createAllStatusCodeIsOkAndResponseAsExpected() {
+        List<BookingBatchResultDto> expected = List.of(
+                BookingBatchResultDto.builder()
+                        .booking(BookingDto.builder()
+                                .id(1L)
+                                .itemId(dto.getItemId())
+                                .start(dto.getStart())
+                                .end(dto.getEnd())
+                                .build())
+                        .build(),
+                BookingBatchResultDto.builder()
+                        .error("Не найдена вещь с id = 2")
+                        .build());
+        Mockito.when(bookingService.createAll(any(), anyLong()))
+                .thenReturn(expected);
+
+        String response = mockMvc.perform(post("/bookings/batch")
+                        .header(SHARER_USER_ID, 1)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(dto, dto))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(expected, List.of(objectMapper.readValue(response, BookingBatchResultDto[].class)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void changeStatusAllStatusCodeIsOkAndResponseAsExpected() {
+        List<BookingBatchResultDto> expected = List.of(
+                BookingBatchResultDto.builder()
+                        .booking(BookingDto.builder()
+                                .id(1L)
+                                .itemId(dto.getItemId())
+                                .start(dto.getStart())
+                                .end(dto.getEnd())
+                                .status(APPROVED)
+                                .build())
+                        .build(),
+                BookingBatchResultDto.builder()
+                        .error("Не найдено бронирование с id = 2")
+                        .build());
+        Mockito.when(bookingService.changeStatusAll(List.of(1L, 2L), true, 1L))
+                .thenReturn(expected);
+
+        String response = mockMvc.perform(patch("/bookings/batch")
+                        .header(SHARER_USER_ID, 1)
+                        .param("approved", "true")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(1L, 2L))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(expected, List.of(objectMapper.readValue(response, BookingBatchResultDto[].class)));
+    }
+
     @Test
     @SneakyThrows
     public void changeStatusStatusCodeIsOkAndResponseAsExpected() {
@@ -185,4 +252,61 @@ public class BookingControllerTest {
         assertEquals(objectMapper.writeValueAsString(expected), response);
     }
 
+    @Test
+    @SneakyThrows
+    public void getBookingsByUserIdReturnsNextCursorWhenPageIsFull() {
+        BookingDto last = BookingDto.builder()
+                .id(5L)
+                .start(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .build();
+        Mockito.when(bookingService.getBookingsByUserId(ALL, 1L, 2, 0))
+                .thenReturn(List.of(dto, last));
+
+        String cursor = mockMvc.perform(get("/bookings?size=2&from=0")
+                        .header(SHARER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(NEXT_CURSOR);
+
+        assertEquals(new BookingCursor(last.getStart(), last.getId()), BookingCursor.decode(cursor));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getBookingsByItemOwnerOmitsNextCursorWhenPageIsNotFull() {
+        Mockito.when(bookingService.getBookingsByItemOwner(ALL, 1L, 2, 0))
+                .thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/bookings/owner?size=2&from=0")
+                        .header(SHARER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getBookingsByUserIdContinuesFromCursor() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 5L);
+        List<BookingDto> expected = List.of(dto);
+        Mockito.when(bookingService.getBookingsByUserIdAfter(ALL, 1L, 2, cursor))
+                .thenReturn(expected);
+
+        String response = mockMvc.perform(get("/bookings?size=2&from=0&cursor=" + cursor.encode())
+                        .header(SHARER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(expected), response);
+    }
+
+    @Test
+    @SneakyThrows
+    public void getBookingsByItemOwnerStatusCodeIsBadRequestWhenCursorIsInvalid() {
+        mockMvc.perform(get("/bookings/owner?size=2&from=0&cursor=broken")
+                        .header(SHARER_USER_ID, 1))
+                .andExpect(status().isBadRequest());
+    }
 }
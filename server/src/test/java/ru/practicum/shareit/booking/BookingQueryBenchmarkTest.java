@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
+
+/**
+ * Сравнение постраничного запроса с подсчетом общего количества и запроса списка на 1 000 000 бронирований.
+ * Запуск: mvn -pl server test -Pbenchmark
+ */
+@Tag("benchmark")
+@Slf4j
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingQueryBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int ITERATIONS = 20;
+
+    private final BookingRepository bookingRepository;
+
+    private final UserRepository userRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TestEntityManager entityManager;
+
+    private User owner;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Ivan")
+                .email("ivan@test.com")
+                .build());
+        User initiator = userRepository.save(User.builder()
+                .name("Arkadiy")
+                .email("arkadiy@test.com")
+                .build());
+        Item item = itemRepository.save(Item.builder()
+                .owner(owner)
+                .name("Camera")
+                .description("Analog camera")
+                .available(true)
+                .build());
+        entityManager.flush();
+
+        jdbcTemplate.update("INSERT INTO bookings (item_id, initiator_id, start_dttm, end_dttm, status) "
+                        + "SELECT CAST(? AS BIGINT), CAST(? AS BIGINT), DATEADD(MINUTE, -2 * X, CAST(? AS TIMESTAMP)), "
+                        + "DATEADD(MINUTE, -2 * X + 1, CAST(? AS TIMESTAMP)), "
+                        + "CASE MOD(X, 3) WHEN 0 THEN 'APPROVED' WHEN 1 THEN 'WAITING' ELSE 'REJECTED' END "
+                        + "FROM SYSTEM_RANGE(1, CAST(? AS INT))",
+                item.getId(), initiator.getId(), LocalDateTime.now(), LocalDateTime.now(), ROWS);
+    }
+
+    @Test
+    public void pageWithCountVersusListWithoutCount() {
+        BooleanExpression pastForOwner = QBooking.booking.status.eq(APPROVED)
+                .and(QBooking.booking.endDttm.before(LocalDateTime.now()))
+                .and(QBooking.booking.item.owner.id.eq(owner.getId()));
+        PageRequest pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("startDttm").descending());
+
+        double pageMillis = measure(() -> bookingRepository.findAll(pastForOwner, pageable).getContent());
+        double listMillis = measure(() -> bookingRepository.findAll(pastForOwner, 0, PAGE_SIZE));
+
+        log.info("{} bookings, page of {}: Page + count = {} ms, list = {} ms, saved {} ms per call",
+                ROWS, PAGE_SIZE, String.format("%.2f", pageMillis), String.format("%.2f", listMillis),
+                String.format("%.2f", pageMillis - listMillis));
+        assertEquals(bookingRepository.findAll(pastForOwner, pageable).getContent().size(),
+                bookingRepository.findAll(pastForOwner, 0, PAGE_SIZE).size());
+    }
+
+    private double measure(Supplier<List<Booking>> query) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            query.get();
+            entityManager.clear();
+        }
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            total += System.nanoTime() - start;
+            entityManager.clear();
+        }
+        return total / 1_000_000.0 / ITERATIONS;
+    }
+}
@@ -1,23 +1,42 @@
 package ru.practicum.shareit.booking;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.impl.BookingPredicates;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.LastOrNextBooking;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.booking.model.type.BookingSearchType;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.type.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.model.type.BookingStatus.WAITING;
 
 @DataJpaTest
@@ -30,6 +49,8 @@ public class BookingRepositoryTest {
 
     private final ItemRepository itemRepository;
 
+    private final TestEntityManager entityManager;
+
     private User user1;
 
     private User user2;
@@ -86,6 +107,32 @@ public class BookingRepositoryTest {
         userRepository.deleteAll();
     }
 
+    @Test
+    public void approvedIntersectionsSkipBookingsBetweenPeriodsOfOneItem() {
+        Item other = itemRepository.save(Item.builder()
+                .owner(user1)
+                .name("Tripod")
+                .description("Aluminium tripod")
+                .available(true)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .item(other)
+                .initiator(user2)
+                .startDttm(booking1.getStartDttm())
+                .endDttm(booking1.getEndDttm())
+                .status(APPROVED)
+                .build());
+        RangeSet<LocalDateTime> periods = TreeRangeSet.create();
+        periods.add(Range.closed(booking3.getStartDttm(), booking3.getEndDttm()));
+        periods.add(Range.closed(LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(8)));
+
+        Iterable<Booking> intersections = bookingRepository.findAll(
+                BookingPredicates.approvedIntersections(Map.of(item.getId(), periods)));
+
+        // booking1 попадает между периодами, бронирование другой вещи совпадает с ним по времени
+        assertEquals(List.of(booking3), Lists.newArrayList(intersections));
+    }
+
     @Test
     public void findIntersectionsReturnsIntersections() {
         Long itemId = item.getId();
@@ -102,27 +149,34 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    public void findLastByItemIdReturnsLastBooking() {
-        Long itemId = item.getId();
-        Optional<Booking> actualOpt = bookingRepository.findLastByItemId(itemId);
+    public void updateStatusSkipsApprovedBookings() {
+        int updated = bookingRepository.updateStatus(List.of(booking1.getId()), REJECTED);
 
-        assertTrue(actualOpt.isPresent());
-        Booking actual = actualOpt.get();
-        assertEquals(actual.getItem().getId(), itemId);
-        assertEquals(actual.getId(), booking3.getId());
-        assertTrue(actual.getStartDttm().isBefore(LocalDateTime.now()));
+        assertEquals(0, updated);
+        assertEquals(APPROVED, bookingRepository.findById(booking1.getId()).orElseThrow().getStatus());
     }
 
     @Test
-    public void findNextByItemIdReturnsNextBooking() {
-        Long itemId = item.getId();
-        Optional<Booking> actualOpt = bookingRepository.findNextByItemId(itemId);
+    public void findLastAndNextByItemIdInReturnsLastAndNextBookings() {
+        List<LastOrNextBooking> actual = bookingRepository.findLastAndNextByItemIdIn(List.of(item.getId()));
 
-        assertTrue(actualOpt.isPresent());
-        Booking actual = actualOpt.get();
-        assertEquals(actual.getItem().getId(), itemId);
-        assertEquals(actual.getId(), booking1.getId());
-        assertTrue(actual.getStartDttm().isAfter(LocalDateTime.now()));
+        assertEquals(2, actual.size());
+        assertTrue(actual.stream().anyMatch(b -> b.isLast() && b.getBooking().getId().equals(booking3.getId())));
+        assertTrue(actual.stream().anyMatch(b -> !b.isLast() && b.getBooking().getId().equals(booking1.getId())));
+    }
+
+    @Test
+    public void findLastAndNextByItemIdInReturnsEmptyListWhenItemHasNoApprovedBookings() {
+        Item another = itemRepository.save(Item.builder()
+                .owner(user1)
+                .name("Sweater")
+                .description("Red sweater")
+                .available(true)
+                .build());
+
+        List<LastOrNextBooking> actual = bookingRepository.findLastAndNextByItemIdIn(List.of(another.getId()));
+
+        assertTrue(actual.isEmpty());
     }
 
     @Test
@@ -150,4 +204,131 @@ public class BookingRepositoryTest {
 
         assertFalse(result);
     }
+
+    @Test
+    public void findByInitiatorIdLoadsItemsAndInitiatorsInOneStatement() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<Booking> bookings = bookingRepository
+                .findByInitiatorIdOrderByStartDttmDesc(user2.getId(), PageRequest.of(0, 10));
+        bookings.forEach(b -> assertNotNull(b.getItem().getName() + b.getInitiator().getName()));
+
+        assertEquals(3, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findByItemOwnerIdLoadsItemsAndInitiatorsInOneStatement() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<Booking> bookings = bookingRepository
+                .findByItemOwnerIdOrderByStartDttmDesc(user1.getId(), PageRequest.of(0, 10));
+        bookings.forEach(b -> assertNotNull(b.getItem().getName() + b.getInitiator().getName()));
+
+        assertEquals(3, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findAllByPredicateLoadsItemsAndInitiatorsInOneStatement() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<Booking> bookings = bookingRepository.findAll(QBooking.booking.status.eq(APPROVED), 0, 10);
+        bookings.forEach(b -> assertNotNull(b.getItem().getName() + b.getInitiator().getName()));
+
+        assertEquals(2, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findAllByPredicateSkipsOffsetAndOrdersByStartDescending() {
+        List<Booking> actual = bookingRepository.findAll(QBooking.booking.initiator.id.eq(user2.getId()), 1, 10);
+
+        assertEquals(2, actual.size());
+        assertEquals(booking1.getId(), actual.get(0).getId());
+        assertEquals(booking3.getId(), actual.get(1).getId());
+    }
+
+    @Test
+    public void findAllAfterWalksBookingsByStartDescending() {
+        clearContextAndStatistics();
+        BooleanExpression byInitiator = QBooking.booking.initiator.id.eq(user2.getId());
+
+        List<Booking> firstPage = bookingRepository.findAllAfter(byInitiator, null, 2);
+        Booking last = firstPage.get(firstPage.size() - 1);
+        List<Booking> secondPage = bookingRepository
+                .findAllAfter(byInitiator, new BookingCursor(last.getStartDttm(), last.getId()), 2);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(booking1.getId(), last.getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(booking3.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    public void findAllAfterBreaksTiesById() {
+        LocalDateTime start = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = bookingRepository.save(Booking.builder()
+                .item(item)
+                .initiator(user2)
+                .startDttm(start)
+                .endDttm(start.plusDays(1))
+                .status(WAITING)
+                .build());
+        Booking second = bookingRepository.save(Booking.builder()
+                .item(item)
+                .initiator(user2)
+                .startDttm(start)
+                .endDttm(start.plusDays(1))
+                .status(WAITING)
+                .build());
+        BooleanExpression byInitiator = QBooking.booking.initiator.id.eq(user2.getId());
+
+        List<Booking> actual = bookingRepository
+                .findAllAfter(byInitiator, new BookingCursor(start, second.getId()), 2);
+
+        assertEquals(first.getId(), actual.get(0).getId());
+        assertTrue(actual.get(1).getStartDttm().isBefore(start));
+    }
+
+    @Test
+    public void findAllAfterLoadsPageInOneStatement() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<Booking> bookings = bookingRepository
+                .findAllAfter(QBooking.booking.initiator.id.eq(user2.getId()), null, 10);
+        bookings.forEach(b -> assertNotNull(b.getItem().getName() + b.getInitiator().getName()));
+
+        assertEquals(3, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingSearchType.class, names = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public void findAllAfterByInitiatorStateReturnsOnlyInitiatorBookings(BookingSearchType state) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .initiator(user2)
+                .startDttm(LocalDateTime.now().minusHours(1))
+                .endDttm(LocalDateTime.now().plusHours(1))
+                .status(REJECTED)
+                .build());
+
+        List<Booking> own = bookingRepository.findAllAfter(BookingPredicates.of(user2.getId(), state, false), null, 10);
+        List<Booking> stranger = bookingRepository
+                .findAllAfter(BookingPredicates.of(user1.getId(), state, false), null, 10);
+
+        assertFalse(own.isEmpty());
+        assertTrue(own.stream().allMatch(b -> b.getInitiator().getId().equals(user2.getId())));
+        assertTrue(stranger.isEmpty());
+    }
+
+    private Statistics clearContextAndStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
 }
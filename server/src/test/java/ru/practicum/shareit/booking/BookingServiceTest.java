@@ -1,22 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.type.BookingStatus;
 import ru.practicum.shareit.exception.BookingPeriodException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -30,11 +33,17 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static ru.practicum.shareit.QueryAssertions.assertMaxQueries;
 import static ru.practicum.shareit.booking.model.type.BookingSearchType.*;
 import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
 
@@ -97,10 +106,8 @@ public class BookingServiceTest {
     public void createSavesBooking() {
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user2));
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(item));
-        Mockito.when(bookingRepository.findIntersections(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of());
         Mockito.when(bookingMapper.mapToModel(any(BookingDto.class), any(User.class), any(Item.class), any(BookingStatus.class)))
                 .thenReturn(booking);
 
@@ -113,7 +120,7 @@ public class BookingServiceTest {
     public void createThrowsNotFoundException() {
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user1));
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(item));
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -154,10 +161,10 @@ public class BookingServiceTest {
     @Test
     public void createThrowsNotFoundExceptionWhenHasIntersectionsByBookingPeriod() {
         Mockito.when(bookingRepository.findIntersections(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of(new Booking()));
+                .thenReturn(List.of(booking));
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user2));
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(item));
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -179,7 +186,7 @@ public class BookingServiceTest {
     public void createThrowsNotFoundExceptionWhenItemNotFound() {
         Mockito.when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user2));
-        Mockito.when(itemRepository.findById(anyLong()))
+        Mockito.when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -187,8 +194,176 @@ public class BookingServiceTest {
         assertEquals("Не найдена вещь с id = 1", e.getMessage());
     }
 
+    @Test
+    public void createAllSavesValidBookingsAndReportsErrorsPerEntry() {
+        BookingDto unknownItem = BookingDto.builder()
+                .itemId(2L)
+                .start(bookingDto.getStart())
+                .end(bookingDto.getEnd())
+                .build();
+        Mockito.when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user2));
+        Mockito.when(itemRepository.findAllByIdForUpdate(anyCollection()))
+                .thenReturn(List.of(item));
+        Mockito.when(bookingMapper.mapToModel(any(BookingDto.class), any(User.class), any(Item.class), any(BookingStatus.class)))
+                .thenReturn(booking);
+        Mockito.when(bookingRepository.saveAll(List.of(booking)))
+                .thenReturn(List.of(booking));
+        Mockito.when(bookingMapper.mapToDto(booking))
+                .thenReturn(bookingDto);
+
+        List<BookingBatchResultDto> results = bookingService.createAll(List.of(bookingDto, unknownItem), 2L);
+
+        assertEquals(bookingDto, results.get(0).getBooking());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getBooking());
+        assertEquals("Не найдена вещь с id = 2", results.get(1).getError());
+        verify(itemRepository, times(1)).findAllByIdForUpdate(anyCollection());
+        verify(bookingRepository, times(1)).findAll(any(Predicate.class));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    public void createAllReportsIntersectionsWithApprovedBookings() {
+        Booking approvedBooking = Booking.builder()
+                .item(item)
+                .initiator(user1)
+                .startDttm(bookingDto.getStart().minusHours(1))
+                .endDttm(bookingDto.getStart().plusHours(1))
+                .status(APPROVED)
+                .build();
+        Mockito.when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user2));
+        Mockito.when(itemRepository.findAllByIdForUpdate(anyCollection()))
+                .thenReturn(List.of(item));
+        Mockito.when(bookingRepository.findAll(any(Predicate.class)))
+                .thenReturn(List.of(approvedBooking));
+
+        List<BookingBatchResultDto> results = bookingService.createAll(List.of(bookingDto), 2L);
+
+        assertEquals("Некорректно выбран период бронирования", results.get(0).getError());
+        verify(bookingRepository, times(1)).saveAll(List.of());
+    }
+
+    @Test
+    public void createAllThrowsNotFoundExceptionWhenUserNotFound() {
+        Mockito.when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> bookingService.createAll(List.of(bookingDto), 2L));
+        assertEquals("Не найден пользователь с id = 2", e.getMessage());
+    }
+
+    @Test
+    public void changeStatusAllUpdatesBookingsWithOneQueryAndReportsErrorsPerEntry() {
+        Booking waiting = Booking.builder()
+                .id(1L)
+                .item(item)
+                .initiator(user2)
+                .startDttm(bookingDto.getStart())
+                .endDttm(bookingDto.getEnd())
+                .status(BookingStatus.WAITING)
+                .build();
+        Booking approvedBooking = Booking.builder()
+                .id(2L)
+                .item(item)
+                .initiator(user2)
+                .startDttm(bookingDto.getEnd().plusDays(1))
+                .endDttm(bookingDto.getEnd().plusDays(2))
+                .status(APPROVED)
+                .build();
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        Mockito.when(bookingRepository.findByIdIn(anyCollection()))
+                .thenReturn(List.of(waiting, approvedBooking));
+
+        List<BookingBatchResultDto> results = bookingService.changeStatusAll(List.of(1L, 2L, 3L), true, 1L);
+
+        assertNull(results.get(0).getError());
+        assertEquals("Бронирование с id 2 уже одобрено", results.get(1).getError());
+        assertEquals("Не найдено бронирование с id = 3", results.get(2).getError());
+        assertEquals(APPROVED, waiting.getStatus());
+        verify(bookingRepository, times(1)).updateStatus(List.of(1L), APPROVED);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    public void changeStatusAllReportsIntersectionsWithinBatch() {
+        Booking first = Booking.builder()
+                .id(1L)
+                .item(item)
+                .initiator(user2)
+                .startDttm(bookingDto.getStart())
+                .endDttm(bookingDto.getEnd())
+                .status(BookingStatus.WAITING)
+                .build();
+        Booking second = Booking.builder()
+                .id(2L)
+                .item(item)
+                .initiator(user2)
+                .startDttm(bookingDto.getStart().plusHours(1))
+                .endDttm(bookingDto.getEnd().plusHours(1))
+                .status(BookingStatus.WAITING)
+                .build();
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        Mockito.when(bookingRepository.findByIdIn(anyCollection()))
+                .thenReturn(List.of(first, second));
+
+        List<BookingBatchResultDto> results = bookingService.changeStatusAll(List.of(1L, 2L), true, 1L);
+
+        assertNull(results.get(0).getError());
+        assertEquals("Некорректно выбран период бронирования", results.get(1).getError());
+        verify(itemRepository, times(1)).findAllByIdForUpdate(List.of(item.getId()));
+        verify(bookingRepository, times(1)).updateStatus(List.of(1L), APPROVED);
+    }
+
+    @Test
+    public void changeStatusAllLocksItemsBeforeReadingBookingsWhenRejecting() {
+        Booking waiting = Booking.builder()
+                .id(1L)
+                .item(item)
+                .initiator(user2)
+                .startDttm(bookingDto.getStart())
+                .endDttm(bookingDto.getEnd())
+                .status(BookingStatus.WAITING)
+                .build();
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        Mockito.when(bookingRepository.findByIdIn(anyCollection()))
+                .thenReturn(List.of(waiting));
+
+        List<BookingBatchResultDto> results = bookingService.changeStatusAll(List.of(1L), false, 1L);
+
+        assertNull(results.get(0).getError());
+        InOrder inOrder = Mockito.inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).findAllByIdForUpdate(List.of(item.getId()));
+        inOrder.verify(bookingRepository).findByIdIn(List.of(1L));
+        inOrder.verify(bookingRepository).updateStatus(List.of(1L), BookingStatus.REJECTED);
+    }
+
+    @Test
+    public void changeStatusAllRejectsNotOwnedBookingsAsNotFound() {
+        Booking booking = Booking.builder()
+                .id(1L)
+                .item(item)
+                .initiator(user2)
+                .status(BookingStatus.WAITING)
+                .build();
+        Mockito.when(bookingRepository.findByIdIn(anyCollection()))
+                .thenReturn(List.of(booking));
+
+        List<BookingBatchResultDto> results = bookingService.changeStatusAll(List.of(1L), false, 2L);
+
+        assertEquals("Не найдено бронирование с id = 1", results.get(0).getError());
+        verify(bookingRepository, never()).updateStatus(anyCollection(), any(BookingStatus.class));
+    }
+
     @Test
     public void changeStatusChangesStatusToApproved() {
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
         Mockito.when(bookingRepository.findByIdAndItemOwnerId(anyLong(), anyLong()))
                 .thenReturn(Optional.of(Booking.builder().initiator(user2).item(item).build()));
 
@@ -199,8 +374,61 @@ public class BookingServiceTest {
         assertEquals(APPROVED, savedBooking.getStatus());
     }
 
+    @Test
+    public void changeStatusLocksItemBeforeApproving() {
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        Mockito.when(bookingRepository.findByIdAndItemOwnerId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(Booking.builder()
+                        .initiator(user2)
+                        .item(item)
+                        .startDttm(bookingDto.getStart())
+                        .endDttm(bookingDto.getEnd())
+                        .build()));
+
+        bookingService.changeStatus(1L, true, 1L);
+
+        InOrder inOrder = Mockito.inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).findByIdForUpdate(item.getId());
+        inOrder.verify(bookingRepository).findByIdAndItemOwnerId(1L, 1L);
+        inOrder.verify(bookingRepository).findIntersections(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
+        inOrder.verify(bookingRepository).save(any(Booking.class));
+    }
+
+    @Test
+    public void changeStatusLocksItemBeforeReadingBookingWhenRejecting() {
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        Mockito.when(bookingRepository.findByIdAndItemOwnerId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(Booking.builder().initiator(user2).item(item).build()));
+
+        bookingService.changeStatus(1L, false, 1L);
+
+        InOrder inOrder = Mockito.inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).findByIdForUpdate(item.getId());
+        inOrder.verify(bookingRepository).findByIdAndItemOwnerId(1L, 1L);
+        inOrder.verify(bookingRepository).save(any(Booking.class));
+    }
+
+    @Test
+    public void changeStatusThrowsNotFoundExceptionWhenApprovedBookingsIntersect() {
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
+        Mockito.when(bookingRepository.findByIdAndItemOwnerId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findIntersections(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(new Booking()));
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> bookingService.changeStatus(1L, true, 1L));
+        assertEquals("Некорректно выбран период бронирования", e.getMessage());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     public void changeStatusChangesStatusToRejected() {
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
         Mockito.when(bookingRepository.findByIdAndItemOwnerId(anyLong(), anyLong()))
                 .thenReturn(Optional.of(Booking.builder().initiator(user2).build()));
 
@@ -223,6 +451,8 @@ public class BookingServiceTest {
 
     @Test
     public void changeStatusThrowsUnsupportedOperationExceptionWhenTryingToApproveAlreadyApprovedBooking() {
+        Mockito.when(bookingRepository.findItemIdsByIdInAndItemOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(item.getId()));
         Mockito.when(bookingRepository.findByIdAndItemOwnerId(anyLong(), anyLong()))
                 .thenReturn(Optional.of(Booking.builder().status(APPROVED).initiator(user2).build()));
 
@@ -264,74 +494,84 @@ public class BookingServiceTest {
                         PageRequest.of(0, 1, Sort.by("startDttm").descending()));
     }
 
+    @Test
+    public void getBookingsByUserIdDoesNotCheckUserWhenBookingsFound() {
+        Mockito.when(bookingRepository.findByInitiatorIdOrderByStartDttmDesc(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(booking));
+
+        bookingService.getBookingsByUserId(ALL, 1L, 1, 0);
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
     @Test
     public void getBookingsByUserIdSearchingByCurrent() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByUserId(CURRENT, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
     public void getBookingsByUserIdSearchingByPast() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByUserId(PAST, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
     public void getBookingsByUserIdSearchingByFuture() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByUserId(FUTURE, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
     public void getBookingsByUserIdSearchingByWaiting() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByUserId(WAITING, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
     public void getBookingsByUserIdSearchingByRejected() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByUserId(REJECTED, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
@@ -360,70 +600,71 @@ public class BookingServiceTest {
     public void getBookingsByItemOwnerSearchingByCurrent() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByItemOwner(CURRENT, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
+        assertMaxQueries(2, bookingRepository, userRepository, itemRepository);
     }
 
     @Test
     public void getBookingsByItemOwnerSearchingByPast() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByItemOwner(PAST, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
     public void getBookingsByItemOwnerSearchingByFuture() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByItemOwner(FUTURE, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
     public void getBookingsByItemOwnerSearchingByWaiting() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByItemOwner(WAITING, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
     public void getBookingsByItemOwnerSearchingByRejected() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         bookingService.getBookingsByItemOwner(REJECTED, userId, 1, 0);
 
         verify(bookingRepository, times(1))
-                .findAll(any(BooleanExpression.class), any(Pageable.class));
+                .findAll(any(BooleanExpression.class), anyLong(), anyInt());
     }
 
     @Test
@@ -440,8 +681,8 @@ public class BookingServiceTest {
     public void getBookingsByUserIdThrowsNotFoundExceptionWhenSearchTypeNotFound() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -453,8 +694,8 @@ public class BookingServiceTest {
     public void getBookingsByItemOwnerThrowsNotFoundExceptionWhenSearchTypeNotFound() {
         Mockito.when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
-        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        Mockito.when(bookingRepository.findAll(any(BooleanExpression.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         Long userId = 1L;
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -462,4 +703,27 @@ public class BookingServiceTest {
         assertEquals("Статус TEST не доступен для обработки", e.getMessage());
     }
 
+    @Test
+    public void getBookingsByUserIdAfterPassesCursorToRepository() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+        Mockito.when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        Mockito.when(bookingRepository.findAllAfter(any(BooleanExpression.class), any(BookingCursor.class), anyInt()))
+                .thenReturn(List.of());
+
+        bookingService.getBookingsByUserIdAfter(ALL, 1L, 5, cursor);
+
+        verify(bookingRepository, times(1))
+                .findAllAfter(any(BooleanExpression.class), eq(cursor), eq(5));
+    }
+
+    @Test
+    public void getBookingsByItemOwnerAfterThrowsNotFoundExceptionWhenUserNotFound() {
+        Mockito.when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> bookingService.getBookingsByItemOwnerAfter(WAITING, 1L, 1, null));
+        assertEquals("Не найден пользователь с id = 1", e.getMessage());
+    }
 }
@@ -8,7 +8,10 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.WebConfig;
+import ru.practicum.shareit.item.dto.BookingInfoDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -17,12 +20,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.util.Header.SHARER_USER_ID;
 
 @WebMvcTest(ItemController.class)
+@Import(WebConfig.class)
 public class ItemControllerTest {
 
     @Autowired
@@ -124,6 +133,89 @@ public class ItemControllerTest {
         assertEquals(expected, objectMapper.readValue(response, ItemBookingDto.class));
     }
 
+    @Test
+    @SneakyThrows
+    public void getItemByIdWithBookingsIsNotCacheable() {
+        Mockito.when(itemService.getItemById(1L, 1L))
+                .thenReturn(ItemBookingDto.builder()
+                        .id(1L)
+                        .name("Camera")
+                        .description("Analog camera")
+                        .available(true)
+                        .lastBooking(BookingInfoDto.builder().id(1L).bookerId(2L).build())
+                        .build());
+
+        mockMvc.perform(get("/items/1")
+                        .header(SHARER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(ETAG));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getItemByIdWithoutBookingsHasNoCacheControl() {
+        Mockito.when(itemService.getItemById(1L, 2L))
+                .thenReturn(ItemBookingDto.builder()
+                        .id(1L)
+                        .name("Camera")
+                        .description("Analog camera")
+                        .available(true)
+                        .build());
+
+        mockMvc.perform(get("/items/1")
+                        .header(SHARER_USER_ID, 2))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CACHE_CONTROL));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getItemByIdWithMatchingEtagStatusCodeIsNotModified() {
+        Mockito.when(itemService.getItemById(1L, 1L))
+                .thenReturn(ItemBookingDto.builder()
+                        .id(1L)
+                        .name("Camera")
+                        .description("Analog camera")
+                        .available(true)
+                        .build());
+        String etag = mockMvc.perform(get("/items/1")
+                        .header(SHARER_USER_ID, 1))
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        mockMvc.perform(get("/items/1")
+                        .header(SHARER_USER_ID, 1)
+                        .header(IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getItemByIdWithEtagBeforeNewBookingStatusCodeIsOk() {
+        ItemBookingDto item = ItemBookingDto.builder()
+                .id(1L)
+                .name("Camera")
+                .description("Analog camera")
+                .available(true)
+                .build();
+        Mockito.when(itemService.getItemById(1L, 1L))
+                .thenReturn(item);
+        String etag = mockMvc.perform(get("/items/1")
+                        .header(SHARER_USER_ID, 1))
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        item.setNextBooking(BookingInfoDto.builder().id(1L).bookerId(2L).build());
+
+        mockMvc.perform(get("/items/1")
+                        .header(SHARER_USER_ID, 1)
+                        .header(IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @SneakyThrows
     public void getItemsStatusCodeIsOkAndResponseAsExpected() {
@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -81,27 +82,76 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    public void getByNameOrDescriptionContainingIgnoreCaseAndAvailableTrueReturnsItemId1() {
+    public void searchAvailableReturnsItemId1() {
         List<Item> expected = List.of(item1);
 
-        List<Item> actual = itemRepository
-                .getByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("Camera",
-                        "Camera", PageRequest.of(0, 2));
+        List<Item> actual = itemRepository.searchAvailable("Camera", PageRequest.of(0, 2));
 
         assertEquals(expected, actual);
     }
 
     @Test
-    public void getByNameOrDescriptionContainingIgnoreCaseAndAvailableTrueReturnsItemId2() {
+    public void searchAvailableReturnsItemId2() {
         List<Item> expected = List.of(item2);
 
-        List<Item> actual = itemRepository
-                .getByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("Red",
-                        "Red", PageRequest.of(0, 2));
+        List<Item> actual = itemRepository.searchAvailable("rEd", PageRequest.of(0, 2));
 
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void searchAvailableSkipsUnavailableItems() {
+        itemRepository.save(Item.builder()
+                .owner(user)
+                .name("Camera bag")
+                .description("Leather bag")
+                .available(false)
+                .build());
+
+        List<Item> actual = itemRepository.searchAvailable("Camera", PageRequest.of(0, 10));
+
+        assertEquals(List.of(item1), actual);
+    }
+
+    @Test
+    public void searchAvailableRanksNameMatchesAboveDescriptionMatches() {
+        Item tripod = itemRepository.save(Item.builder()
+                .owner(user)
+                .name("Tripod")
+                .description("Tripod for camera")
+                .available(true)
+                .build());
+        Item cameraStrap = itemRepository.save(Item.builder()
+                .owner(user)
+                .name("Camera strap")
+                .description("Strap")
+                .available(true)
+                .build());
+        Item filmCamera = itemRepository.save(Item.builder()
+                .owner(user)
+                .name("Film camera")
+                .description("Film camera")
+                .available(true)
+                .build());
+
+        List<Item> actual = itemRepository.searchAvailable("camera", PageRequest.of(0, 10));
+
+        assertEquals(List.of(item1, cameraStrap, filmCamera, tripod), actual);
+    }
+
+    @Test
+    public void searchAvailableMatchesEscapedWildcardsLiterally() {
+        Item wool = itemRepository.save(Item.builder()
+                .owner(user)
+                .name("Sweater")
+                .description("100% wool")
+                .available(true)
+                .build());
+
+        assertEquals(List.of(wool), itemRepository.searchAvailable("\\%", PageRequest.of(0, 10)));
+        assertTrue(itemRepository.searchAvailable("\\_", PageRequest.of(0, 10)).isEmpty());
+    }
+
     @Test
     public void getByRequestIdReturnsItemId2() {
         List<Item> expected = List.of(item2);
@@ -10,8 +10,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.LastOrNextBooking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -26,9 +28,12 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static ru.practicum.shareit.QueryAssertions.assertMaxQueries;
 import static ru.practicum.shareit.booking.model.type.BookingStatus.APPROVED;
 import static ru.practicum.shareit.booking.model.type.BookingStatus.WAITING;
 
@@ -119,7 +124,6 @@ public class ItemServiceTest {
 
     @Test
     public void createItemSavesItem() {
-        Mockito.when(userRepository.existsById(anyLong())).thenReturn(true);
         Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
         Mockito.when(itemMapper.mapToModel(itemDto, user1, null))
                 .thenReturn(item1);
@@ -127,11 +131,12 @@ public class ItemServiceTest {
         itemService.createItem(itemDto, 1L);
 
         verify(itemRepository, times(1)).save(item1);
+        verify(userRepository, never()).existsById(anyLong());
     }
 
     @Test
     public void createItemThrowsNotFoundExceptionWhenUserNotFound() {
-        Mockito.when(userRepository.existsById(anyLong())).thenReturn(false);
+        Mockito.when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class, () -> itemService.createItem(itemDto, 1L));
         assertEquals("Не найден пользователь с id = 1", e.getMessage());
@@ -139,7 +144,7 @@ public class ItemServiceTest {
 
     @Test
     public void createItemThrowsNotFoundExceptionWhenRequestNotFound() {
-        Mockito.when(userRepository.existsById(anyLong())).thenReturn(true);
+        Mockito.when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
         Mockito.when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
         ItemDto withRequestId = itemDto;
         withRequestId.setRequestId(1L);
@@ -194,13 +199,12 @@ public class ItemServiceTest {
     public void getItemByIdReturnsTheItemWithLastAndNextBookingWhenRequestedByOwner() {
         Mockito.when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item1));
         Mockito.when(commentRepository.findByItemId(item1.getId())).thenReturn(List.of());
-        Mockito.when(bookingRepository.findLastByItemId(anyLong()))
-                .thenReturn(Optional.of(booking1));
-        Mockito.when(bookingRepository.findNextByItemId(anyLong()))
-                .thenReturn(Optional.of(booking2));
+        Mockito.when(bookingRepository.findLastAndNextByItemIdIn(anyCollection()))
+                .thenReturn(List.of(new LastOrNextBooking(booking2, false), new LastOrNextBooking(booking1, true)));
 
         itemService.getItemById(1L, 1L);
         verify(itemRepository, times(1)).findById(1L);
+        verify(bookingRepository, times(1)).findLastAndNextByItemIdIn(List.of(item1.getId()));
         verify(itemMapper, times(1)).mapToItemBookingDto(item1, List.of(), booking1, booking2);
     }
 
@@ -215,21 +219,37 @@ public class ItemServiceTest {
 
     @Test
     public void getItemsReturnsItems() {
-        Mockito.when(userRepository.existsById(anyLong())).thenReturn(true);
         Mockito.when(itemRepository.getByOwnerIdOrderByIdAsc(1L, PageRequest.of(0, 1)))
                 .thenReturn(List.of(item1, item2));
-        Mockito.when(commentRepository.findByItemId(anyLong())).thenReturn(List.of());
-        Mockito.when(bookingRepository.findLastByItemId(anyLong()))
-                .thenReturn(Optional.of(booking1));
-        Mockito.when(bookingRepository.findNextByItemId(anyLong()))
-                .thenReturn(Optional.of(booking2));
+        Mockito.when(commentRepository.findByItemIdIn(anyCollection())).thenReturn(List.of());
+        List<LastOrNextBooking> lastAndNext = List.of(new LastOrNextBooking(booking1, true),
+                new LastOrNextBooking(booking2, false));
+        Mockito.when(bookingRepository.findLastAndNextByItemIdIn(anyCollection()))
+                .thenReturn(lastAndNext);
 
         itemService.getItems(1L, 1, 0);
 
         verify(itemRepository, times(1))
                 .getByOwnerIdOrderByIdAsc(1L, PageRequest.of(0, 1));
-        verify(itemMapper, times(1)).mapToItemBookingDto(item1, List.of(), booking1, booking2);
-        verify(itemMapper, times(1)).mapToItemBookingDto(item2, List.of(), booking1, booking2);
+        verify(commentRepository, times(1)).findByItemIdIn(List.of(item1.getId(), item2.getId()));
+        verify(bookingRepository, times(1)).findLastAndNextByItemIdIn(List.of(item1.getId(), item2.getId()));
+        verify(itemMapper, times(1))
+                .mapToItemBookingDtos(List.of(item1, item2), List.of(), lastAndNext);
+        verify(userRepository, never()).existsById(anyLong());
+        assertMaxQueries(3, itemRepository, commentRepository, bookingRepository, userRepository);
+    }
+
+    @Test
+    public void getItemsReturnsEmptyListWhenOwnerHasNoItems() {
+        Mockito.when(userRepository.existsById(anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.getByOwnerIdOrderByIdAsc(1L, PageRequest.of(0, 1)))
+                .thenReturn(List.of());
+
+        List<ItemBookingDto> result = itemService.getItems(1L, 1, 0);
+
+        assertTrue(result.isEmpty());
+        verify(commentRepository, never()).findByItemIdIn(anyCollection());
+        verify(bookingRepository, never()).findLastAndNextByItemIdIn(anyCollection());
     }
 
     @Test
@@ -245,9 +265,8 @@ public class ItemServiceTest {
     @Test
     public void createCommentCreatesComment() {
         Mockito.when(bookingRepository.wasItemBookedByUser(anyLong(), anyLong())).thenReturn(true);
-        Mockito.when(itemRepository.existsById(anyLong())).thenReturn(true);
-        Mockito.when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
-        Mockito.when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item1));
+        Mockito.when(userRepository.getReferenceById(anyLong())).thenReturn(user2);
+        Mockito.when(itemRepository.getReferenceById(anyLong())).thenReturn(item1);
         Mockito.when(commentMapper.mapToModel(commentDto, item1, user2)).thenReturn(comment);
 
         itemService.createComment(commentDto, 1L, 2L);
@@ -256,29 +275,31 @@ public class ItemServiceTest {
     }
 
     @Test
-    public void createCommentThrowsIllegalArgumentExceptionWhenWasntBookedByAuthor() {
-        Mockito.when(bookingRepository.wasItemBookedByUser(anyLong(), anyLong())).thenReturn(false);
+    public void createCommentDoesNotLoadItemAndAuthor() {
+        Mockito.when(bookingRepository.wasItemBookedByUser(anyLong(), anyLong())).thenReturn(true);
+        Mockito.when(userRepository.getReferenceById(anyLong())).thenReturn(user2);
+        Mockito.when(itemRepository.getReferenceById(anyLong())).thenReturn(item1);
+        Mockito.when(commentMapper.mapToModel(commentDto, item1, user2)).thenReturn(comment);
 
-        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
-                () -> itemService.createComment(commentDto, 1L, 2L));
-        assertEquals("Пользователь с id = 2 не бронировал эту вещь", e.getMessage());
+        itemService.createComment(commentDto, 1L, 2L);
+
+        verify(itemRepository, never()).existsById(anyLong());
+        verify(itemRepository, never()).findById(anyLong());
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
-    public void createCommentThrowsNotFoundExceptionWhenUserNotFound() {
-        Mockito.when(bookingRepository.wasItemBookedByUser(anyLong(), anyLong())).thenReturn(true);
-        Mockito.when(itemRepository.existsById(anyLong())).thenReturn(true);
-        Mockito.when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
-        Mockito.when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item1));
+    public void createCommentThrowsIllegalArgumentExceptionWhenWasntBookedByAuthor() {
+        Mockito.when(bookingRepository.wasItemBookedByUser(anyLong(), anyLong())).thenReturn(false);
 
-        NotFoundException e = assertThrows(NotFoundException.class,
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
                 () -> itemService.createComment(commentDto, 1L, 2L));
-        assertEquals("Не найден пользователь с id = 2", e.getMessage());
+        assertEquals("Пользователь с id = 2 не бронировал эту вещь", e.getMessage());
     }
 
     @Test
     public void createCommentThrowsIllegalArgumentExceptionWhenItemNotFound() {
-        Mockito.when(itemRepository.existsById(anyLong())).thenReturn(false);
+        Mockito.when(bookingRepository.wasItemBookedByUser(anyLong(), anyLong())).thenReturn(false);
 
         IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
                 () -> itemService.createComment(commentDto, 1L, 2L));
@@ -290,8 +311,15 @@ public class ItemServiceTest {
         itemService.searchItems("Item", 1, 0);
 
         verify(itemRepository, times(1))
-                .getByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("Item", "Item",
-                        PageRequest.of(0, 1));
+                .searchAvailable("Item", PageRequest.of(0, 1));
+    }
+
+    @Test
+    public void searchItemsEscapesLikeWildcards() {
+        itemService.searchItems("100%_\\", 1, 0);
+
+        verify(itemRepository, times(1))
+                .searchAvailable("100\\%\\_\\\\", PageRequest.of(0, 1));
     }
 
     @Test
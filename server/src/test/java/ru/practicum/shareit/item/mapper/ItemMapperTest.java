@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.LastOrNextBooking;
 import ru.practicum.shareit.booking.model.type.BookingStatus;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
@@ -24,6 +25,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -153,4 +155,33 @@ public class ItemMapperTest {
         assertNotNull(actual.getLastBooking());
         assertNotNull(actual.getNextBooking());
     }
+
+    @Test
+    public void mapToItemBookingDtosAssemblesCommentsAndBookingsByItem() {
+        Item another = Item.builder().id(2L).owner(owner).name("Sweater").description("Red sweater")
+                .available(true).build();
+        List<Comment> comments = List.of(Comment.builder().id(1L).text("Some text").item(item).author(author)
+                .createDttm(LocalDateTime.now()).build());
+        List<CommentDto> commentDtos = List.of(CommentDto.builder().id(1L).text("Some text")
+                .itemId(item.getId()).authorName(author.getName()).build());
+        Booking lastBooking = Booking.builder().id(1L).item(item).initiator(author)
+                .startDttm(LocalDateTime.now().minusDays(2)).endDttm(LocalDateTime.now().minusDays(1))
+                .status(BookingStatus.APPROVED).build();
+        Booking nextBooking = Booking.builder().id(2L).item(item).initiator(author)
+                .startDttm(LocalDateTime.now().plusDays(1)).endDttm(LocalDateTime.now().plusDays(2))
+                .status(BookingStatus.APPROVED).build();
+        Mockito.when(commentMapper.mapToDtos(comments)).thenReturn(commentDtos);
+        Mockito.when(commentMapper.mapToDtos(List.of())).thenReturn(List.of());
+
+        List<ItemBookingDto> actual = itemMapper.mapToItemBookingDtos(List.of(item, another), comments,
+                List.of(new LastOrNextBooking(nextBooking, false), new LastOrNextBooking(lastBooking, true)));
+
+        assertEquals(2, actual.size());
+        assertEquals(commentDtos, actual.get(0).getComments());
+        assertEquals(lastBooking.getId(), actual.get(0).getLastBooking().getId());
+        assertEquals(nextBooking.getId(), actual.get(0).getNextBooking().getId());
+        assertEquals(List.of(), actual.get(1).getComments());
+        assertNull(actual.get(1).getLastBooking());
+        assertNull(actual.get(1).getNextBooking());
+    }
 }
@@ -22,9 +22,13 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static ru.practicum.shareit.QueryAssertions.assertMaxQueries;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -63,7 +67,6 @@ public class ItemRequestServiceTest {
 
     @Test
     public void createItemRequestSavesRequest() {
-        Mockito.when(userRepository.existsById(1L)).thenReturn(true);
         Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         Mockito.when(itemRequestMapper.mapToModel(requestDto, user)).thenReturn(itemRequest);
 
@@ -74,7 +77,7 @@ public class ItemRequestServiceTest {
 
     @Test
     public void createItemRequestThrowsNotFoundExceptionWhenUserNotFound() {
-        Mockito.when(userRepository.existsById(1L)).thenReturn(false);
+        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemRequestService.createItemRequest(1L, requestDto));
@@ -152,7 +155,7 @@ public class ItemRequestServiceTest {
 
     @Test
     public void mapToDtosCreatesDtos() {
-        Mockito.when(itemRepository.getByRequestId(anyLong())).thenReturn(List.of());
+        Mockito.when(itemRepository.getByRequestIdIn(anyCollection())).thenReturn(List.of());
         Mockito.when(userRepository.existsById(anyLong())).thenReturn(true);
         ItemRequest withId = itemRequest;
         withId.setId(1L);
@@ -161,6 +164,20 @@ public class ItemRequestServiceTest {
 
         itemRequestService.getItemRequestsByUserId(1L);
 
-        verify(itemRepository, times(2)).getByRequestId(1L);
+        verify(itemRepository, times(1)).getByRequestIdIn(List.of(1L, 1L));
+        verify(itemRepository, never()).getByRequestId(anyLong());
+        verify(itemRequestMapper, times(2)).mapToDto(withId, List.of());
+        assertMaxQueries(2, itemRequestRepository, itemRepository, userRepository);
+    }
+
+    @Test
+    public void mapToDtosSkipsItemLookupWhenNoRequestsFound() {
+        Mockito.when(userRepository.existsById(anyLong())).thenReturn(true);
+        Mockito.when(itemRequestRepository.findByUserId(anyLong())).thenReturn(List.of());
+
+        List<ItemRequestDto> result = itemRequestService.getItemRequestsByUserId(1L);
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository, never()).getByRequestIdIn(anyCollection());
     }
 }
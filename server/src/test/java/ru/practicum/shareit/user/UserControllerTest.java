@@ -8,17 +8,24 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.WebConfig;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
+@Import(WebConfig.class)
 public class UserControllerTest {
 
     @Autowired
@@ -98,6 +105,54 @@ public class UserControllerTest {
         assertEquals(expected, objectMapper.readValue(response, UserDto.class));
     }
 
+    @Test
+    @SneakyThrows
+    public void getUserByIdReturnsStrongEtag() {
+        Mockito.when(userService.getUserById(1L))
+                .thenReturn(userDto);
+
+        String etag = mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        assertNotNull(etag);
+        assertEquals('"', etag.charAt(0));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUserByIdWithMatchingEtagStatusCodeIsNotModified() {
+        Mockito.when(userService.getUserById(1L))
+                .thenReturn(userDto);
+        String etag = mockMvc.perform(get("/users/1"))
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        mockMvc.perform(get("/users/1")
+                        .header(IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @SneakyThrows
+    public void getUserByIdWithStaleEtagStatusCodeIsOk() {
+        Mockito.when(userService.getUserById(1L))
+                .thenReturn(userDto);
+        String etag = mockMvc.perform(get("/users/1"))
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        userDto.setName("Ivan Ivanov");
+
+        mockMvc.perform(get("/users/1")
+                        .header(IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @SneakyThrows
     public void deleteUserByIdStatusCodeIsOk() {